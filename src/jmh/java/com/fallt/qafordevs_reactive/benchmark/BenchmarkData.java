@@ -0,0 +1,32 @@
+package com.fallt.qafordevs_reactive.benchmark;
+
+import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
+import com.fallt.qafordevs_reactive.entity.Status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static DeveloperEntity developer(int id) {
+        return DeveloperEntity.builder()
+                .id(id)
+                .firstName("John" + id)
+                .lastName("Doe" + id)
+                .email("john.doe" + id + "@gmail.com")
+                .specialty("Java")
+                .status(Status.ACTIVE)
+                .build();
+    }
+
+    static List<DeveloperEntity> developers(int size) {
+        List<DeveloperEntity> developers = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            developers.add(developer(i));
+        }
+        return developers;
+    }
+}
@@ -0,0 +1,97 @@
+package com.fallt.qafordevs_reactive.benchmark;
+
+import com.fallt.qafordevs_reactive.dto.DeveloperDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DeveloperJsonBenchmark {
+
+    private static final ResolvableType DEVELOPER_TYPE = ResolvableType.forClass(DeveloperDto.class);
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+
+    private ObjectMapper cborMapper;
+
+    private ObjectMapper smileMapper;
+
+    private Jackson2JsonEncoder encoder;
+
+    private DataBufferFactory bufferFactory;
+
+    private List<DeveloperDto> developers;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        cborMapper = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+        smileMapper = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+        encoder = new Jackson2JsonEncoder(objectMapper);
+        bufferFactory = DefaultDataBufferFactory.sharedInstance;
+        developers = BenchmarkData.developers(size).stream()
+                .map(DeveloperDto::toDto)
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] writeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(developers);
+    }
+
+    @Benchmark
+    public byte[] writeListCbor() throws JsonProcessingException {
+        return cborMapper.writeValueAsBytes(developers);
+    }
+
+    @Benchmark
+    public byte[] writeListSmile() throws JsonProcessingException {
+        return smileMapper.writeValueAsBytes(developers);
+    }
+
+    @Benchmark
+    public void encodeJsonArray(Blackhole blackhole) {
+        encode(MediaType.APPLICATION_JSON, blackhole);
+    }
+
+    @Benchmark
+    public void encodeNdjsonStream(Blackhole blackhole) {
+        encode(MediaType.APPLICATION_NDJSON, blackhole);
+    }
+
+    private void encode(MediaType mediaType, Blackhole blackhole) {
+        encoder.encode(Flux.fromIterable(developers), bufferFactory, DEVELOPER_TYPE, mediaType, Collections.emptyMap())
+                .doOnNext(buffer -> {
+                    blackhole.consume(buffer.readableByteCount());
+                    DataBufferUtils.release(buffer);
+                })
+                .blockLast();
+    }
+}
@@ -0,0 +1,39 @@
+package com.fallt.qafordevs_reactive.benchmark;
+
+import com.fallt.qafordevs_reactive.dto.DeveloperDto;
+import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DeveloperMappingBenchmark {
+
+    private DeveloperEntity entity;
+
+    private DeveloperDto dto;
+
+    @Setup
+    public void setUp() {
+        entity = BenchmarkData.developer(1);
+        dto = DeveloperDto.toDto(entity);
+    }
+
+    @Benchmark
+    public DeveloperDto toDto() {
+        return DeveloperDto.toDto(entity);
+    }
+
+    @Benchmark
+    public DeveloperEntity toEntity() {
+        return dto.toEntity();
+    }
+}
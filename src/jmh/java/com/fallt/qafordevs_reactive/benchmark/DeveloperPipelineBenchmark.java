@@ -0,0 +1,49 @@
+package com.fallt.qafordevs_reactive.benchmark;
+
+import com.fallt.qafordevs_reactive.dto.DeveloperDto;
+import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DeveloperPipelineBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private List<DeveloperEntity> developers;
+
+    @Setup
+    public void setUp() {
+        developers = BenchmarkData.developers(size);
+    }
+
+    @Benchmark
+    public List<DeveloperDto> flatMapToMono() {
+        return Flux.fromIterable(developers)
+                .flatMap(entity -> Mono.just(DeveloperDto.toDto(entity)))
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    public List<DeveloperDto> map() {
+        return Flux.fromIterable(developers)
+                .map(DeveloperDto::toDto)
+                .collectList()
+                .block();
+    }
+}
@@ -0,0 +1,28 @@
+package com.fallt.qafordevs_reactive.config;
+
+import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+public class CacheConfig {
+
+    public static final String DEVELOPER_CACHE_NAME = "developers";
+
+    @Bean
+    public AsyncCache<Integer, DeveloperEntity> developerCache(DeveloperProperties developerProperties,
+                                                               MeterRegistry meterRegistry) {
+        DeveloperProperties.Cache properties = developerProperties.getCache();
+        AsyncCache<Integer, DeveloperEntity> cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), DEVELOPER_CACHE_NAME);
+        return cache;
+    }
+}
@@ -0,0 +1,34 @@
+package com.fallt.qafordevs_reactive.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Adds CBOR and Smile next to JSON for the server and for WebClient. Both reuse the
+ * application's Jackson configuration; JSON stays first and is chosen unless the client
+ * asks for {@code application/cbor} or {@code application/x-jackson-smile}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class CodecConfig {
+
+    @Bean
+    public CodecCustomizer binaryJacksonCodecCustomizer(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        ObjectMapper cborMapper = builders.getObject().factory(new CBORFactory()).build();
+        ObjectMapper smileMapper = builders.getObject().factory(new SmileFactory()).build();
+        return configurer -> {
+            configurer.customCodecs().register(new CollectingJackson2CborEncoder(cborMapper));
+            configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper));
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper));
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.fallt.qafordevs_reactive.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link Jackson2CborEncoder} rejects multi-value publishers, so a {@link Flux} body is written
+ * as a CBOR indefinite-length array: each element is encoded and written as it arrives, between
+ * a start marker and a break marker, and nothing is held in memory beyond the current element.
+ */
+public class CollectingJackson2CborEncoder extends Jackson2CborEncoder {
+
+    private static final byte START_ARRAY = (byte) 0x9F;
+
+    private static final byte BREAK = (byte) 0xFF;
+
+    public CollectingJackson2CborEncoder(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory, ResolvableType elementType,
+                                   MimeType mimeType, Map<String, Object> hints) {
+        if (inputStream instanceof Mono<?> mono) {
+            return mono.map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints)).flux();
+        }
+        // The start marker goes out with the first element, so an error before it leaves the
+        // response uncommitted and the error handler can still answer
+        return Flux.defer(() -> {
+            AtomicBoolean started = new AtomicBoolean();
+            return Flux.from(inputStream)
+                    .concatMap(value -> {
+                        DataBuffer element = encodeValue(value, bufferFactory, elementType, mimeType, hints);
+                        return started.compareAndSet(false, true)
+                                ? Flux.just(bufferFactory.wrap(new byte[]{START_ARRAY}), element)
+                                : Flux.just(element);
+                    })
+                    .concatWith(Mono.fromSupplier(() -> started.get()
+                            ? bufferFactory.wrap(new byte[]{BREAK})
+                            : bufferFactory.wrap(new byte[]{START_ARRAY, BREAK})));
+        });
+    }
+}
@@ -0,0 +1,32 @@
+package com.fallt.qafordevs_reactive.config;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Reactor context flags read by {@link ReadWriteRoutingConnectionFactory}. Service read
+ * methods mark themselves read-only; a caller that must see its own writes pins the
+ * whole request to the primary, which takes precedence.
+ */
+public final class ConnectionRouting {
+
+    private static final String READ_ONLY_KEY = ConnectionRouting.class.getName() + ".READ_ONLY";
+
+    private static final String PRIMARY_REQUIRED_KEY = ConnectionRouting.class.getName() + ".PRIMARY_REQUIRED";
+
+    private ConnectionRouting() {
+    }
+
+    public static Context readOnly(Context context) {
+        return context.put(READ_ONLY_KEY, Boolean.TRUE);
+    }
+
+    public static Context primaryRequired(Context context) {
+        return context.put(PRIMARY_REQUIRED_KEY, Boolean.TRUE);
+    }
+
+    public static boolean routesToReplica(ContextView context) {
+        return context.getOrDefault(READ_ONLY_KEY, Boolean.FALSE)
+                && !context.getOrDefault(PRIMARY_REQUIRED_KEY, Boolean.FALSE);
+    }
+}
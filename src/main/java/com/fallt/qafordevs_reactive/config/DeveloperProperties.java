@@ -0,0 +1,257 @@
+package com.fallt.qafordevs_reactive.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "developers")
+public class DeveloperProperties {
+
+    private Pagination pagination = new Pagination();
+
+    private Batch batch = new Batch();
+
+    private Cache cache = new Cache();
+
+    private Patch patch = new Patch();
+
+    private Changes changes = new Changes();
+
+    private Loader loader = new Loader();
+
+    private Search search = new Search();
+
+    private RateLimit rateLimit = new RateLimit();
+
+    private LoadShedding loadShedding = new LoadShedding();
+
+    private Routing routing = new Routing();
+
+    private Idempotency idempotency = new Idempotency();
+
+    private Backend backend = Backend.R2DBC;
+
+    private Jdbc jdbc = new Jdbc();
+
+    private Outbox outbox = new Outbox();
+
+    @Getter
+    @Setter
+    public static class Pagination {
+
+        private int defaultSize = 20;
+
+        private int maxSize = 100;
+
+        private int streamChunkSize = 500;
+
+        public int resolveSize(Integer size) {
+            if (size == null) {
+                return defaultSize;
+            }
+            return Math.max(1, Math.min(size, maxSize));
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+
+        private int chunkSize = 500;
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+
+        private long maximumSize = 10_000;
+
+        private Duration expireAfterWrite = Duration.ofMinutes(5);
+
+        private boolean listenForChanges = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Patch {
+
+        private int maxRetries = 3;
+    }
+
+    @Getter
+    @Setter
+    public static class Loader {
+
+        private int maxBatchSize = 100;
+
+        private Duration window = Duration.ofMillis(2);
+    }
+
+    @Getter
+    @Setter
+    public static class Changes {
+
+        // Changes retained in the database for clients resuming from a sequence number
+        private int historySize = 10_000;
+
+        // Most recent changes kept in memory for live subscribers
+        private int liveHistorySize = 256;
+
+        private int replayPageSize = 100;
+
+        private Duration pollInterval = Duration.ofMillis(100);
+
+        // How long a sequence gap is waited for before it is taken as a rolled back transaction
+        private Duration gapTimeout = Duration.ofSeconds(1);
+
+        private Duration pruneInterval = Duration.ofMinutes(1);
+
+        private int subscriberBufferSize = 256;
+
+        private Overflow overflow = Overflow.DISCONNECT;
+
+        public enum Overflow {
+            DROP_OLDEST, DISCONNECT
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Search {
+
+        // Shorter queries yield no trigrams and cannot use the trigram index
+        private int minLength = 3;
+    }
+
+    @Getter
+    @Setter
+    public static class RateLimit {
+
+        private boolean enabled = true;
+
+        private int requestsPerSecond = 100;
+
+        private int burst = 200;
+
+        private String apiKeyHeader = "X-API-Key";
+
+        private List<String> apiKeys = new ArrayList<>();
+
+        private long maxClients = 100_000;
+
+        private Duration clientIdleTimeout = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class LoadShedding {
+
+        private boolean enabled = true;
+
+        private int minLimit = 8;
+
+        private int maxLimit = 256;
+
+        private int maxPendingAcquires = 64;
+
+        private Duration acquireLatencyThreshold = Duration.ofMillis(100);
+
+        private Duration decreaseInterval = Duration.ofMillis(100);
+    }
+
+    @Getter
+    @Setter
+    public static class Routing {
+
+        private List<Replica> replicas = new ArrayList<>();
+
+        private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+        private Duration healthCheckTimeout = Duration.ofSeconds(1);
+
+        // Replicas further behind the primary are taken out of rotation until they catch up
+        private Duration maxReplicationLag = Duration.ofSeconds(10);
+
+        private String readYourWritesHeader = "X-Read-Your-Writes";
+
+        @Getter
+        @Setter
+        public static class Replica {
+
+            private String url;
+
+            private String username;
+
+            private String password;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Idempotency {
+
+        private Duration ttl = Duration.ofHours(24);
+
+        private long hotCacheSize = 10_000;
+
+        private Duration inProgressTimeout = Duration.ofSeconds(30);
+
+        private Duration cleanupInterval = Duration.ofMinutes(10);
+    }
+
+    public enum Backend {
+        R2DBC, JDBC
+    }
+
+    @Getter
+    @Setter
+    public static class Jdbc {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 32;
+
+        private Duration connectionTimeout = Duration.ofSeconds(3);
+    }
+
+    @Getter
+    @Setter
+    public static class Outbox {
+
+        private boolean relayEnabled = true;
+
+        private Duration pollInterval = Duration.ofMillis(500);
+
+        private int batchSize = 100;
+
+        private Duration retryBackoff = Duration.ofSeconds(1);
+
+        private Duration maxRetryBackoff = Duration.ofMinutes(5);
+
+        private int maxAttempts = 10;
+
+        private Duration lease = Duration.ofMinutes(1);
+
+        private Publisher publisher = Publisher.IN_MEMORY;
+
+        private int inMemoryCapacity = 10_000;
+
+        private String httpUrl;
+
+        private Duration httpTimeout = Duration.ofSeconds(5);
+
+        public enum Publisher {
+            IN_MEMORY, HTTP
+        }
+    }
+}
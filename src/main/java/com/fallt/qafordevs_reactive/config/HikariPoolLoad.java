@@ -0,0 +1,74 @@
+package com.fallt.qafordevs_reactive.config;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks acquire times of the JDBC pool for load shedding. Hikari takes a single metrics tracker
+ * factory, so this one also forwards to the Micrometer tracker that would otherwise be bound.
+ */
+public class HikariPoolLoad implements PoolLoad, MetricsTrackerFactory {
+
+    private final MicrometerMetricsTrackerFactory micrometer;
+
+    // Exponentially weighted moving average (alpha = 1/8) of recent acquire times
+    private final AtomicLong recentAcquireNanos = new AtomicLong();
+
+    private volatile PoolStats poolStats;
+
+    public HikariPoolLoad(MeterRegistry meterRegistry) {
+        this.micrometer = new MicrometerMetricsTrackerFactory(meterRegistry);
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        IMetricsTracker delegate = micrometer.create(poolName, poolStats);
+        return new IMetricsTracker() {
+
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                delegate.recordConnectionCreatedMillis(connectionCreatedMillis);
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                delegate.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+                recentAcquireNanos.accumulateAndGet(elapsedAcquiredNanos, (average, sample) -> average + ((sample - average) >> 3));
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                delegate.recordConnectionUsageMillis(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                delegate.recordConnectionTimeout();
+            }
+
+            @Override
+            public void close() {
+                delegate.close();
+            }
+        };
+    }
+
+    // Hikari refreshes pool stats at most once a second
+    @Override
+    public int getPendingAcquireCount() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getPendingThreads();
+    }
+
+    @Override
+    public Duration getRecentAcquireTime() {
+        return Duration.ofNanos(recentAcquireNanos.get());
+    }
+}
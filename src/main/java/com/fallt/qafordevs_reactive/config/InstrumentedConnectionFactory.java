@@ -0,0 +1,76 @@
+package com.fallt.qafordevs_reactive.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.Connection;
+import org.springframework.r2dbc.connection.DelegatingConnectionFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class InstrumentedConnectionFactory extends DelegatingConnectionFactory implements PoolLoad, Disposable {
+
+    private final ConnectionPool connectionPool;
+
+    private final Timer acquireTimer;
+
+    // Exponentially weighted moving average (alpha = 1/8) of recent acquire times
+    private final AtomicLong recentAcquireNanos = new AtomicLong();
+
+    public InstrumentedConnectionFactory(ConnectionPool connectionPool, Timer acquireTimer) {
+        super(connectionPool);
+        this.connectionPool = connectionPool;
+        this.acquireTimer = acquireTimer;
+    }
+
+    @Override
+    public Mono<? extends Connection> create() {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return connectionPool.create()
+                    .doOnSuccess(connection -> recordAcquire(System.nanoTime() - start));
+        });
+    }
+
+    private void recordAcquire(long nanos) {
+        acquireTimer.record(nanos, TimeUnit.NANOSECONDS);
+        recentAcquireNanos.accumulateAndGet(nanos, (average, sample) -> average + ((sample - average) >> 3));
+    }
+
+    @Override
+    public Duration getRecentAcquireTime() {
+        return Duration.ofNanos(recentAcquireNanos.get());
+    }
+
+    @Override
+    public int getPendingAcquireCount() {
+        return connectionPool.getMetrics()
+                .map(PoolMetrics::pendingAcquireSize)
+                .orElse(0);
+    }
+
+    // Every connection is handed out, so a failed acquire says nothing about the database itself
+    public boolean isSaturated() {
+        return connectionPool.getMetrics()
+                .map(metrics -> metrics.acquiredSize() >= metrics.getMaxAllocatedSize())
+                .orElse(false);
+    }
+
+    public ConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    @Override
+    public void dispose() {
+        connectionPool.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return connectionPool.isDisposed();
+    }
+}
@@ -0,0 +1,74 @@
+package com.fallt.qafordevs_reactive.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "developers", name = "backend", havingValue = "jdbc")
+public class JdbcConfig {
+
+    public static final String JDBC_POOL_NAME = "developers-jdbc";
+
+    @Bean
+    public HikariPoolLoad jdbcPoolLoad(MeterRegistry meterRegistry) {
+        return new HikariPoolLoad(meterRegistry);
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource dataSource(DeveloperProperties developerProperties,
+                                       ObjectProvider<JdbcConnectionDetails> connectionDetails,
+                                       HikariPoolLoad jdbcPoolLoad) {
+        DeveloperProperties.Jdbc properties = developerProperties.getJdbc();
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(JDBC_POOL_NAME);
+        // Service connections (e.g. Testcontainers) win over the configured url, as they do for R2DBC
+        JdbcConnectionDetails details = connectionDetails.getIfAvailable();
+        if (details != null) {
+            config.setJdbcUrl(details.getJdbcUrl());
+            config.setUsername(details.getUsername());
+            config.setPassword(details.getPassword());
+        } else {
+            config.setJdbcUrl(properties.getUrl());
+            config.setUsername(properties.getUsername());
+            config.setPassword(properties.getPassword());
+        }
+        config.setMaximumPoolSize(properties.getMaximumPoolSize());
+        config.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+        config.setMetricsTrackerFactory(jdbcPoolLoad);
+        log.info("Serving developers from JDBC with a pool of {} connections", properties.getMaximumPoolSize());
+        return new HikariDataSource(config);
+    }
+
+    @Bean
+    public NamedParameterJdbcTemplate namedParameterJdbcTemplate(DataSource dataSource) {
+        return new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    // Not exposed as a PlatformTransactionManager bean so R2DBC stays the application's transaction manager
+    @Bean
+    public TransactionTemplate jdbcTransactionTemplate(DataSource dataSource) {
+        return new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    // Each blocking call gets its own virtual thread; the Hikari pool, not the thread count, bounds concurrency
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler() {
+        return Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "jdbc");
+    }
+}
@@ -0,0 +1,26 @@
+package com.fallt.qafordevs_reactive.config;
+
+import com.fallt.qafordevs_reactive.metrics.ReactiveMetricsPostProcessor;
+import com.fallt.qafordevs_reactive.repository.DeveloperRepository;
+import com.fallt.qafordevs_reactive.service.DeveloperService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    public static final String SERVICE_METRIC_NAME = "developer.service";
+
+    public static final String REPOSITORY_METRIC_NAME = "developer.repository";
+
+    @Bean
+    public static ReactiveMetricsPostProcessor reactiveMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ReactiveMetricsPostProcessor(Map.of(
+                DeveloperService.class, SERVICE_METRIC_NAME,
+                DeveloperRepository.class, REPOSITORY_METRIC_NAME), meterRegistry);
+    }
+}
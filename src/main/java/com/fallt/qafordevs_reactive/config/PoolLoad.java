@@ -0,0 +1,13 @@
+package com.fallt.qafordevs_reactive.config;
+
+import java.time.Duration;
+
+/**
+ * Saturation signals of the connection pool that serves developer requests.
+ */
+public interface PoolLoad {
+
+    int getPendingAcquireCount();
+
+    Duration getRecentAcquireTime();
+}
@@ -0,0 +1,100 @@
+package com.fallt.qafordevs_reactive.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcConnectionDetails;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.PropertyMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+public class R2dbcConfig {
+
+    public static final String ACQUIRE_TIMER_NAME = "r2dbc.pool.acquire";
+
+    private static final String PRIMARY_POOL_NAME = "primary";
+
+    private static final String REPLICA_POOL_NAME_PREFIX = "replica-";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionFactory connectionFactory(R2dbcConnectionDetails connectionDetails,
+                                               R2dbcProperties r2dbcProperties,
+                                               DeveloperProperties developerProperties,
+                                               MeterRegistry meterRegistry) {
+        InstrumentedConnectionFactory primary = instrumentedPool(PRIMARY_POOL_NAME,
+                connectionDetails.getConnectionFactoryOptions(), r2dbcProperties.getPool(), meterRegistry);
+        DeveloperProperties.Routing routing = developerProperties.getRouting();
+        if (routing.getReplicas().isEmpty()) {
+            return primary;
+        }
+        Map<String, InstrumentedConnectionFactory> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < routing.getReplicas().size(); i++) {
+            String name = REPLICA_POOL_NAME_PREFIX + i;
+            replicas.put(name, instrumentedPool(name, replicaOptions(routing.getReplicas().get(i)),
+                    r2dbcProperties.getPool(), meterRegistry));
+        }
+        // Pool metrics are only bound automatically for factories that unwrap to a single pool
+        new ConnectionPoolMetrics(primary.getConnectionPool(), PRIMARY_POOL_NAME, Tags.empty()).bindTo(meterRegistry);
+        replicas.forEach((name, replica) ->
+                new ConnectionPoolMetrics(replica.getConnectionPool(), name, Tags.empty()).bindTo(meterRegistry));
+        ReadWriteRoutingConnectionFactory routingConnectionFactory = new ReadWriteRoutingConnectionFactory(primary, replicas);
+        routingConnectionFactory.startHealthChecks(routing.getHealthCheckInterval(), routing.getHealthCheckTimeout(),
+                routing.getMaxReplicationLag());
+        log.info("Routing read-only queries to {} replica(s)", replicas.size());
+        return routingConnectionFactory;
+    }
+
+    private static InstrumentedConnectionFactory instrumentedPool(String name, ConnectionFactoryOptions options,
+                                                                  R2dbcProperties.Pool properties,
+                                                                  MeterRegistry meterRegistry) {
+        return new InstrumentedConnectionFactory(createPool(name, options, properties), acquireTimer(name, meterRegistry));
+    }
+
+    private static ConnectionFactoryOptions replicaOptions(DeveloperProperties.Routing.Replica replica) {
+        ConnectionFactoryOptions.Builder builder = ConnectionFactoryOptions.parse(replica.getUrl()).mutate();
+        PropertyMapper map = PropertyMapper.get().alwaysApplyingWhenNonNull();
+        map.from(replica.getUsername()).to(username -> builder.option(ConnectionFactoryOptions.USER, username));
+        map.from(replica.getPassword()).to(password -> builder.option(ConnectionFactoryOptions.PASSWORD, password));
+        return builder.build();
+    }
+
+    private static ConnectionPool createPool(String name, ConnectionFactoryOptions options, R2dbcProperties.Pool properties) {
+        ConnectionPoolConfiguration.Builder builder = ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name(name);
+        PropertyMapper map = PropertyMapper.get().alwaysApplyingWhenNonNull();
+        map.from(properties.getInitialSize()).to(builder::initialSize);
+        map.from(properties.getMaxSize()).to(builder::maxSize);
+        map.from(properties.getMaxIdleTime()).to(builder::maxIdleTime);
+        map.from(properties.getMaxLifeTime()).to(builder::maxLifeTime);
+        map.from(properties.getMaxAcquireTime()).to(builder::maxAcquireTime);
+        map.from(properties.getMaxCreateConnectionTime()).to(builder::maxCreateConnectionTime);
+        map.from(properties.getValidationQuery()).whenHasText().to(builder::validationQuery);
+        map.from(properties.getValidationDepth()).to(builder::validationDepth);
+        ConnectionPool pool = new ConnectionPool(builder.build());
+        pool.warmup().subscribe(
+                warmed -> log.info("Pre-warmed {} connections in '{}' pool", warmed, name),
+                e -> log.warn("Failed to pre-warm '{}' pool", name, e));
+        return pool;
+    }
+
+    private static Timer acquireTimer(String name, MeterRegistry meterRegistry) {
+        return Timer.builder(ACQUIRE_TIMER_NAME)
+                .description("Time spent waiting to acquire a connection from the pool")
+                .tag("name", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
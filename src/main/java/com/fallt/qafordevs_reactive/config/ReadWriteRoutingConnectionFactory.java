@@ -0,0 +1,193 @@
+package com.fallt.qafordevs_reactive.config;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only work to a healthy replica, chosen round robin, and everything else to
+ * the primary. Replicas are probed periodically over a dedicated connection, so a busy
+ * pool cannot fail the probe. A replica that fails a probe, is not streaming WAL from the
+ * primary, lags behind it by more than the allowed replication lag, or fails to connect is
+ * skipped until it passes a probe again. A failed acquire falls back to the primary; when the
+ * replica pool was merely saturated the replica stays in rotation.
+ */
+@Slf4j
+public class ReadWriteRoutingConnectionFactory extends AbstractRoutingConnectionFactory implements Disposable {
+
+    public static final String PRIMARY_KEY = "primary";
+
+    // A replica whose received WAL is fully replayed is current however old its last transaction is,
+    // but only while its WAL receiver is streaming: a disconnected receiver stops receiving, so
+    // everything received is soon replayed and the lag reads as zero. Without pg_read_all_stats the
+    // receiver's status is hidden and only its presence can be checked.
+    private static final String HEALTH_CHECK_QUERY = """
+            SELECT NOT pg_is_in_recovery()
+                       OR EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE coalesce(status, 'streaming') = 'streaming')
+                       AS streaming,
+                   CASE
+                       WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE coalesce(extract(epoch FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END::float8 AS lag_seconds
+            """;
+
+    private final InstrumentedConnectionFactory primary;
+
+    private final List<Replica> replicas;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private volatile Disposable healthChecks;
+
+    public ReadWriteRoutingConnectionFactory(InstrumentedConnectionFactory primary,
+                                             Map<String, InstrumentedConnectionFactory> replicas) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream()
+                .map(entry -> new Replica(entry.getKey(), entry.getValue(), new AtomicBoolean(true)))
+                .toList();
+        Map<String, ConnectionFactory> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY_KEY, primary);
+        setTargetConnectionFactories(targets);
+        setDefaultTargetConnectionFactory(primary);
+        afterPropertiesSet();
+    }
+
+    public void startHealthChecks(Duration interval, Duration timeout, Duration maxReplicationLag) {
+        healthChecks = Flux.interval(interval, interval)
+                .concatMap(tick -> Flux.fromIterable(replicas)
+                        .flatMap(replica -> check(replica, timeout, maxReplicationLag))
+                        .then())
+                .subscribe();
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.deferContextual(context -> {
+            if (!ConnectionRouting.routesToReplica(context)) {
+                return Mono.just(PRIMARY_KEY);
+            }
+            Replica replica = nextHealthyReplica();
+            return Mono.just(replica == null ? PRIMARY_KEY : replica.name());
+        });
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return determineTargetConnectionFactory()
+                .flatMap(target -> {
+                    Replica replica = replicaFor(target);
+                    if (replica == null) {
+                        return Mono.<Connection>from(target.create());
+                    }
+                    return Mono.<Connection>from(target.create())
+                            .onErrorResume(e -> {
+                                if (replica.factory().isSaturated()) {
+                                    log.debug("Replica '{}' pool is saturated, reading from the primary", replica.name());
+                                } else {
+                                    markDown(replica, e);
+                                }
+                                return Mono.from(primary.create());
+                            });
+                });
+    }
+
+    public InstrumentedConnectionFactory getPrimary() {
+        return primary;
+    }
+
+    public List<String> getHealthyReplicas() {
+        return replicas.stream()
+                .filter(replica -> replica.healthy().get())
+                .map(Replica::name)
+                .toList();
+    }
+
+    private Replica nextHealthyReplica() {
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy().get()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Replica replicaFor(ConnectionFactory target) {
+        for (Replica replica : replicas) {
+            if (replica.factory() == target) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Mono<Void> check(Replica replica, Duration timeout, Duration maxReplicationLag) {
+        ConnectionFactory probe = replica.factory().getConnectionPool().unwrap();
+        return Mono.usingWhen(Mono.<Connection>from(probe.create()),
+                        connection -> Flux.from(connection.createStatement(HEALTH_CHECK_QUERY).execute())
+                                .flatMap(result -> result.map((row, metadata) -> new ReplicaState(
+                                        Boolean.TRUE.equals(row.get("streaming", Boolean.class)),
+                                        row.get("lag_seconds", Double.class))))
+                                .next(),
+                        Connection::close)
+                .timeout(timeout)
+                .flatMap(state -> {
+                    if (!state.streaming()) {
+                        return Mono.error(new IllegalStateException("WAL receiver is not streaming from the primary"));
+                    }
+                    Duration lag = Duration.ofMillis((long) (state.lagSeconds() * 1000));
+                    return lag.compareTo(maxReplicationLag) > 0
+                            ? Mono.error(new IllegalStateException("Replication lag %s exceeds %s".formatted(lag, maxReplicationLag)))
+                            : Mono.<Void>empty();
+                })
+                .doOnSuccess(ignored -> markUp(replica))
+                .onErrorResume(e -> {
+                    markDown(replica, e);
+                    return Mono.empty();
+                });
+    }
+
+    private static void markUp(Replica replica) {
+        if (replica.healthy().compareAndSet(false, true)) {
+            log.info("Replica '{}' is healthy again, routing reads to it", replica.name());
+        }
+    }
+
+    private static void markDown(Replica replica, Throwable e) {
+        if (replica.healthy().compareAndSet(true, false)) {
+            log.warn("Replica '{}' is unavailable, routing its reads to the primary", replica.name(), e);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (healthChecks != null) {
+            healthChecks.dispose();
+        }
+        replicas.forEach(replica -> replica.factory().dispose());
+        primary.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return primary.isDisposed();
+    }
+
+    private record Replica(String name, InstrumentedConnectionFactory factory, AtomicBoolean healthy) {
+    }
+
+    private record ReplicaState(boolean streaming, double lagSeconds) {
+    }
+}
@@ -1,47 +1,166 @@
 package com.fallt.qafordevs_reactive.controller;
 
+import com.fallt.qafordevs_reactive.config.DeveloperProperties;
+import com.fallt.qafordevs_reactive.dto.DeveloperBatchItemDto;
+import com.fallt.qafordevs_reactive.dto.DeveloperChangeEventDto;
 import com.fallt.qafordevs_reactive.dto.DeveloperDto;
+import com.fallt.qafordevs_reactive.dto.DeveloperStatsDto;
+import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
 import com.fallt.qafordevs_reactive.service.DeveloperService;
+import com.fallt.qafordevs_reactive.service.IdempotencyService;
+import com.fallt.qafordevs_reactive.util.CursorUtils;
+import com.fallt.qafordevs_reactive.util.ETagUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
 @RestController
 @RequestMapping("/api/v1/developers")
 @RequiredArgsConstructor
 public class DeveloperControllerV1 {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final DeveloperService developerService;
 
+    private final DeveloperProperties developerProperties;
+
+    private final IdempotencyService idempotencyService;
+
     @PostMapping
-    public Mono<?> createDeveloper(@RequestBody DeveloperDto dto) {
-        return developerService.createDeveloper(dto.toEntity())
-                .flatMap(entity -> Mono.just(DeveloperDto.toDto(entity)));
+    public Mono<?> createDeveloper(@RequestBody DeveloperDto dto,
+                                   @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return idempotent(idempotencyKey, "createDeveloper", dto, () -> developerService.createDeveloper(dto.toEntity())
+                .flatMap(entity -> Mono.just(DeveloperDto.toDto(entity))));
+    }
+
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<DeveloperBatchItemDto> createDevelopers(@RequestBody Flux<DeveloperDto> dtos) {
+        return developerService.createDevelopers(dtos.map(DeveloperDto::toEntity))
+                .index()
+                .map(item -> item.getT2()
+                        .map(entity -> DeveloperBatchItemDto.created(item.getT1(), DeveloperDto.toDto(entity)))
+                        .orElseGet(() -> DeveloperBatchItemDto.duplicateEmail(item.getT1())));
     }
 
     @PutMapping
-    public Mono<?> updateDeveloper(@RequestBody DeveloperDto dto) {
-        return developerService.updateDeveloper(dto.toEntity())
-                .flatMap(entity -> Mono.just(DeveloperDto.toDto(entity)));
+    public Mono<ResponseEntity<DeveloperDto>> updateDeveloper(@RequestBody DeveloperDto dto,
+                                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                              @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        DeveloperEntity developer = dto.toEntity();
+        Long expectedVersion = ETagUtils.parseVersion(ifMatch);
+        if (expectedVersion != null) {
+            developer.setVersion(expectedVersion);
+        }
+        return idempotent(idempotencyKey, "updateDeveloper", Arrays.asList(dto, ifMatch), () -> developerService.updateDeveloper(developer)
+                .map(DeveloperDto::toDto))
+                .map(this::toResponse);
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<DeveloperDto>> patchDeveloper(@PathVariable("id") Integer id,
+                                                             @RequestBody DeveloperDto dto,
+                                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        DeveloperEntity changes = dto.toEntity();
+        Long expectedVersion = ETagUtils.parseVersion(ifMatch);
+        if (expectedVersion != null) {
+            changes.setVersion(expectedVersion);
+        }
+        return developerService.patchDeveloper(id, changes)
+                .map(DeveloperDto::toDto)
+                .map(this::toResponse);
     }
 
     @GetMapping
-    public Flux<?> getAll() {
+    public Mono<ResponseEntity<List<DeveloperDto>>> getAll(@RequestParam(value = "cursor", required = false) String cursor,
+                                                          @RequestParam(value = "size", required = false) Integer size) {
+        int pageSize = developerProperties.getPagination().resolveSize(size);
+        return developerService.getDevelopersPage(CursorUtils.decode(cursor), pageSize)
+                .map(DeveloperDto::toDto)
+                .collectList()
+                .map(page -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (page.size() == pageSize) {
+                        response.header(NEXT_CURSOR_HEADER, CursorUtils.encode(page.get(page.size() - 1).getId()));
+                    }
+                    return response.body(page);
+                });
+    }
+
+    @GetMapping(params = "ids")
+    public Flux<DeveloperDto> getByIds(@RequestParam("ids") List<Integer> ids) {
+        return developerService.getByIds(ids)
+                .map(DeveloperDto::toDto);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<DeveloperDto> streamAll() {
         return developerService.getAllDevelopers()
-                .flatMap(entity -> Mono.just(DeveloperDto.toDto(entity)));
+                .map(DeveloperDto::toDto);
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<DeveloperChangeEventDto>> streamChanges(@RequestParam(value = "since", required = false) Long since,
+                                                                        @RequestHeader(value = LAST_EVENT_ID_HEADER, required = false) Long lastEventId) {
+        return developerService.getChanges(lastEventId != null ? lastEventId : since)
+                .map(event -> ServerSentEvent.builder(event)
+                        .id(String.valueOf(event.getSequence()))
+                        .event(event.getType().name())
+                        .build());
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<DeveloperChangeEventDto> streamChangesAsNdjson(@RequestParam(value = "since", required = false) Long since) {
+        return developerService.getChanges(since);
+    }
+
+    @GetMapping("/search")
+    public Flux<DeveloperDto> search(@RequestParam("q") String query,
+                                     @RequestParam(value = "size", required = false) Integer size) {
+        return developerService.searchDevelopers(query, developerProperties.getPagination().resolveSize(size))
+                .map(DeveloperDto::toDto);
+    }
+
+    @GetMapping("/stats")
+    public Mono<DeveloperStatsDto> getStats() {
+        return developerService.getStats()
+                .collectList()
+                .map(DeveloperStatsDto::toDto);
     }
 
     @GetMapping("/specialty/{specialty}")
-    public Flux<?> getAllBySpecialty(@PathVariable("specialty") String specialty) {
-        return developerService.getAllActiveBySpecialty(specialty)
-                .flatMap(entity -> Mono.just(DeveloperDto.toDto(entity)));
+    public Mono<ResponseEntity<Flux<DeveloperDto>>> getAllBySpecialty(@PathVariable("specialty") String specialty,
+                                                                      @RequestParam(value = "fields", required = false) List<String> fields) {
+        // The list is only queried when the count/revision validator does not match the client's copy.
+        // There is no Last-Modified: removing a developer leaves no newer timestamp behind, so an
+        // If-Modified-Since check would answer 304 for a list that has shrunk.
+        return developerService.getActiveBySpecialtyValidator(specialty, fields)
+                .map(validator -> ResponseEntity.ok()
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .eTag(ETagUtils.fromAggregate(validator.getCount(), validator.getRevision(),
+                                fields == null ? "" : String.join(",", fields)))
+                        .body(developerService.getAllActiveBySpecialty(specialty, fields)
+                                .map(DeveloperDto::toDto)));
     }
 
     @GetMapping("/{id}")
-    public Mono<?> getById(@PathVariable("id") Integer id) {
+    public Mono<ResponseEntity<DeveloperDto>> getById(@PathVariable("id") Integer id) {
         return developerService.getById(id)
-                .flatMap(entity -> Mono.just(DeveloperDto.toDto(entity)));
+                .map(DeveloperDto::toDto)
+                .map(this::toResponse);
     }
 
     @DeleteMapping("/{id}")
@@ -51,4 +170,23 @@ public class DeveloperControllerV1 {
         }
         return developerService.softDeleteById(id);
     }
+
+    private Mono<DeveloperDto> idempotent(String idempotencyKey, String operation, Object request,
+                                          Supplier<Mono<DeveloperDto>> action) {
+        return idempotencyKey == null
+                ? action.get()
+                : idempotencyService.execute(idempotencyKey, operation, request, DeveloperDto.class, action);
+    }
+
+    private ResponseEntity<DeveloperDto> toResponse(DeveloperDto dto) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT);
+        if (dto.getVersion() != null) {
+            response.eTag(ETagUtils.fromVersion(dto.getVersion()));
+        }
+        if (dto.getUpdatedAt() != null) {
+            response.lastModified(dto.getUpdatedAt());
+        }
+        return response.body(dto);
+    }
 }
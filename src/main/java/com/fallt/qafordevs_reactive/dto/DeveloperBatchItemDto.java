@@ -0,0 +1,46 @@
+package com.fallt.qafordevs_reactive.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeveloperBatchItemDto {
+
+    private Long index;
+
+    private Outcome outcome;
+
+    private DeveloperDto developer;
+
+    private ErrorDto error;
+
+    public static DeveloperBatchItemDto created(long index, DeveloperDto developer) {
+        return DeveloperBatchItemDto.builder()
+                .index(index)
+                .outcome(Outcome.CREATED)
+                .developer(developer)
+                .build();
+    }
+
+    public static DeveloperBatchItemDto duplicateEmail(long index) {
+        return DeveloperBatchItemDto.builder()
+                .index(index)
+                .outcome(Outcome.REJECTED)
+                .error(ErrorDto.builder()
+                        .message("Developer with defined email already exists")
+                        .errorCode("DEVELOPER_DUPLICATE_EMAIL")
+                        .build())
+                .build();
+    }
+
+    public enum Outcome {
+        CREATED, REJECTED
+    }
+}
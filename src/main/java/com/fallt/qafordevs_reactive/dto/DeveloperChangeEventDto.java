@@ -0,0 +1,28 @@
+package com.fallt.qafordevs_reactive.dto;
+
+import com.fallt.qafordevs_reactive.entity.ChangeType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeveloperChangeEventDto {
+
+    private Long sequence;
+
+    private ChangeType type;
+
+    private Integer id;
+
+    private DeveloperDto developer;
+
+    private Instant timestamp;
+}
@@ -8,6 +8,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -27,6 +29,10 @@ public class DeveloperDto {
 
     private Status status;
 
+    private Long version;
+
+    private Instant updatedAt;
+
     public static DeveloperDto toDto(DeveloperEntity entity) {
         return DeveloperDto.builder()
                 .id(entity.getId())
@@ -35,6 +41,8 @@ public class DeveloperDto {
                 .email(entity.getEmail())
                 .specialty(entity.getSpecialty())
                 .status(entity.getStatus())
+                .version(entity.getVersion())
+                .updatedAt(entity.getUpdatedAt())
                 .build();
     }
 
@@ -46,6 +54,7 @@ public class DeveloperDto {
                 .email(email)
                 .specialty(specialty)
                 .status(status)
+                .version(version)
                 .build();
     }
 }
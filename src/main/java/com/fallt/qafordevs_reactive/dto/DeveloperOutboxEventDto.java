@@ -0,0 +1,42 @@
+package com.fallt.qafordevs_reactive.dto;
+
+import com.fallt.qafordevs_reactive.entity.ChangeType;
+import com.fallt.qafordevs_reactive.entity.DeveloperOutboxEntity;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeveloperOutboxEventDto {
+
+    // Events of one developer get increasing ids in write order; delivery is at least once, so consumers may see an id twice
+    private Long id;
+
+    private ChangeType type;
+
+    private Integer developerId;
+
+    @JsonRawValue
+    private String developer;
+
+    private Instant occurredAt;
+
+    public static DeveloperOutboxEventDto toDto(DeveloperOutboxEntity entity) {
+        return DeveloperOutboxEventDto.builder()
+                .id(entity.getId())
+                .type(entity.getEventType())
+                .developerId(entity.getDeveloperId())
+                .developer(entity.getPayload())
+                .occurredAt(entity.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.fallt.qafordevs_reactive.dto;
+
+import com.fallt.qafordevs_reactive.entity.DeveloperStatsEntity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeveloperStatsDto {
+
+    public static final String UNSPECIFIED = "UNSPECIFIED";
+
+    private long total;
+
+    private Map<String, Long> byStatus;
+
+    private Map<String, Map<String, Long>> bySpecialty;
+
+    public static DeveloperStatsDto toDto(List<DeveloperStatsEntity> stats) {
+        long total = 0;
+        Map<String, Long> byStatus = new TreeMap<>();
+        Map<String, Map<String, Long>> bySpecialty = new TreeMap<>();
+        for (DeveloperStatsEntity entry : stats) {
+            String specialty = entry.getSpecialty().isEmpty() ? UNSPECIFIED : entry.getSpecialty();
+            String status = entry.getStatus().isEmpty() ? UNSPECIFIED : entry.getStatus();
+            total += entry.getCount();
+            byStatus.merge(status, entry.getCount(), Long::sum);
+            bySpecialty.computeIfAbsent(specialty, key -> new TreeMap<>())
+                    .merge(status, entry.getCount(), Long::sum);
+        }
+        return new DeveloperStatsDto(total, byStatus, bySpecialty);
+    }
+}
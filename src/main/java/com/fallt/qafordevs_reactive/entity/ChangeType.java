@@ -0,0 +1,7 @@
+package com.fallt.qafordevs_reactive.entity;
+
+public enum ChangeType {
+    CREATED, UPDATED, SOFT_DELETED, HARD_DELETED,
+    // Only sent on the change feed when the requested position is no longer retained
+    RESET
+}
@@ -0,0 +1,32 @@
+package com.fallt.qafordevs_reactive.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+@Table("developer_changes")
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeveloperChangeEntity {
+
+    @Id
+    private Long sequence;
+
+    private Integer developerId;
+
+    private ChangeType eventType;
+
+    // DeveloperDto as JSON, null for deletions
+    private String payload;
+
+    private Instant createdAt;
+}
@@ -2,9 +2,12 @@ package com.fallt.qafordevs_reactive.entity;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.domain.Persistable;
 import org.springframework.data.relational.core.mapping.Table;
 
+import java.time.Instant;
 import java.util.Objects;
 
 @Table("developers")
@@ -27,6 +30,13 @@ public class DeveloperEntity implements Persistable<Integer> {
 
     private Status status;
 
+    @Version
+    private Long version;
+
+    // Maintained by the developers_touch_updated_at trigger
+    @ReadOnlyProperty
+    private Instant updatedAt;
+
     @Override
     public boolean isNew() {
         return Objects.isNull(id);
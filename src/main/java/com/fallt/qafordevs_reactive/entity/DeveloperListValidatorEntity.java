@@ -0,0 +1,19 @@
+package com.fallt.qafordevs_reactive.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeveloperListValidatorEntity {
+
+    private Long count;
+
+    private Long revision;
+}
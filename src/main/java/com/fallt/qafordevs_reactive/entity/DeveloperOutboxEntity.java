@@ -0,0 +1,39 @@
+package com.fallt.qafordevs_reactive.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+@Table("developer_outbox")
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeveloperOutboxEntity {
+
+    @Id
+    private Long id;
+
+    private Integer developerId;
+
+    private ChangeType eventType;
+
+    // DeveloperDto as JSON, null for deletions
+    private String payload;
+
+    private Instant createdAt;
+
+    private Integer attempts;
+
+    private Instant nextAttemptAt;
+
+    // Set once the event ran out of attempts, it is no longer relayed
+    private Instant deadLetteredAt;
+}
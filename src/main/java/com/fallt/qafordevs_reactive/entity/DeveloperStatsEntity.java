@@ -0,0 +1,23 @@
+package com.fallt.qafordevs_reactive.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("developer_stats")
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeveloperStatsEntity {
+
+    private String specialty;
+
+    private String status;
+
+    private Long count;
+}
@@ -0,0 +1,32 @@
+package com.fallt.qafordevs_reactive.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+@Table("idempotency_keys")
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyKeyEntity {
+
+    private String idempotencyKey;
+
+    private String operation;
+
+    private String requestHash;
+
+    // Null while the first request with this key is still executing
+    private String responseBody;
+
+    private Instant createdAt;
+
+    private Instant expiresAt;
+}
@@ -0,0 +1,8 @@
+package com.fallt.qafordevs_reactive.exception;
+
+public class DeveloperVersionConflictException extends ApiException {
+
+    public DeveloperVersionConflictException(String message, String errorCode) {
+        super(message, errorCode);
+    }
+}
@@ -1,10 +1,12 @@
 package com.fallt.qafordevs_reactive.exception;
 
 import com.fallt.qafordevs_reactive.dto.ErrorDto;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
 
 @ControllerAdvice
 public class ExceptionHandlerController {
@@ -26,4 +28,42 @@ public class ExceptionHandlerController {
                 .build();
         return new ResponseEntity<>(errorDto, HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler(InvalidRequestParameterException.class)
+    public ResponseEntity<ErrorDto> handleInvalidRequestParameterException(Exception e) {
+        ErrorDto errorDto = ErrorDto.builder()
+                .message(e.getMessage())
+                .errorCode("INVALID_REQUEST_PARAMETER")
+                .build();
+        return new ResponseEntity<>(errorDto, HttpStatus.BAD_REQUEST);
+    }
+
+    // 412 is reserved for a failed If-Match; a version in the body or exhausted patch retries are a plain conflict
+    @ExceptionHandler(DeveloperVersionConflictException.class)
+    public ResponseEntity<ErrorDto> handleDeveloperVersionConflictException(Exception e, ServerWebExchange exchange) {
+        ErrorDto errorDto = ErrorDto.builder()
+                .message(e.getMessage())
+                .errorCode("DEVELOPER_VERSION_CONFLICT")
+                .build();
+        boolean ifMatch = exchange.getRequest().getHeaders().containsKey(HttpHeaders.IF_MATCH);
+        return new ResponseEntity<>(errorDto, ifMatch ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorDto> handleIdempotencyKeyReusedException(Exception e) {
+        ErrorDto errorDto = ErrorDto.builder()
+                .message(e.getMessage())
+                .errorCode("IDEMPOTENCY_KEY_REUSED")
+                .build();
+        return new ResponseEntity<>(errorDto, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @ExceptionHandler(IdempotentRequestInProgressException.class)
+    public ResponseEntity<ErrorDto> handleIdempotentRequestInProgressException(Exception e) {
+        ErrorDto errorDto = ErrorDto.builder()
+                .message(e.getMessage())
+                .errorCode("IDEMPOTENCY_REQUEST_IN_PROGRESS")
+                .build();
+        return new ResponseEntity<>(errorDto, HttpStatus.CONFLICT);
+    }
 }
@@ -0,0 +1,8 @@
+package com.fallt.qafordevs_reactive.exception;
+
+public class IdempotencyKeyReusedException extends ApiException {
+
+    public IdempotencyKeyReusedException(String message, String errorCode) {
+        super(message, errorCode);
+    }
+}
@@ -0,0 +1,8 @@
+package com.fallt.qafordevs_reactive.exception;
+
+public class IdempotentRequestInProgressException extends ApiException {
+
+    public IdempotentRequestInProgressException(String message, String errorCode) {
+        super(message, errorCode);
+    }
+}
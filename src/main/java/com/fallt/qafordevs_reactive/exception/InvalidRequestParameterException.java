@@ -0,0 +1,8 @@
+package com.fallt.qafordevs_reactive.exception;
+
+public class InvalidRequestParameterException extends ApiException {
+
+    public InvalidRequestParameterException(String message, String errorCode) {
+        super(message, errorCode);
+    }
+}
@@ -0,0 +1,134 @@
+package com.fallt.qafordevs_reactive.filter;
+
+import com.fallt.qafordevs_reactive.config.DeveloperProperties;
+import com.fallt.qafordevs_reactive.config.HikariPoolLoad;
+import com.fallt.qafordevs_reactive.config.InstrumentedConnectionFactory;
+import com.fallt.qafordevs_reactive.config.PoolLoad;
+import com.fallt.qafordevs_reactive.config.ReadWriteRoutingConnectionFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps concurrent API requests with an AIMD limit: the limit grows by one per
+ * completed request and shrinks by a tenth (at most once per decrease interval)
+ * while pool acquire latency is above the threshold. Requests over the limit,
+ * or arriving while too many connection acquires are queued, fail fast with 503.
+ * The signals come from the pool of the active backend: Hikari with
+ * {@code developers.backend=jdbc}, the primary R2DBC pool otherwise.
+ */
+@Component
+@ConditionalOnProperty(value = "developers.load-shedding.enabled", havingValue = "true", matchIfMissing = true)
+public class LoadSheddingWebFilter implements WebFilter, Ordered {
+
+    private static final String CHANGES_PATH_SUFFIX = "/changes";
+
+    private final DeveloperProperties.LoadShedding properties;
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectProvider<ConnectionFactory> connectionFactory;
+
+    private final ObjectProvider<HikariPoolLoad> jdbcPoolLoad;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger limit;
+
+    private final AtomicLong lastDecrease = new AtomicLong(System.nanoTime());
+
+    public LoadSheddingWebFilter(DeveloperProperties developerProperties, ObjectMapper objectMapper,
+                                 ObjectProvider<ConnectionFactory> connectionFactory,
+                                 ObjectProvider<HikariPoolLoad> jdbcPoolLoad) {
+        this.properties = developerProperties.getLoadShedding();
+        this.objectMapper = objectMapper;
+        this.connectionFactory = connectionFactory;
+        this.jdbcPoolLoad = jdbcPoolLoad;
+        this.limit = new AtomicInteger(properties.getMaxLimit());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().value();
+        // Change feed subscriptions are long-lived and hold no connection, so they are not counted
+        if (!path.startsWith(Rejections.API_PATH_PREFIX) || path.endsWith(CHANGES_PATH_SUFFIX)) {
+            return chain.filter(exchange);
+        }
+        PoolLoad pool = pool();
+        if (pool != null && pool.getPendingAcquireCount() > properties.getMaxPendingAcquires()) {
+            decrease();
+            return overloaded(exchange);
+        }
+        if (inFlight.incrementAndGet() > limit.get()) {
+            inFlight.decrementAndGet();
+            return overloaded(exchange);
+        }
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    inFlight.decrementAndGet();
+                    adjust(pool);
+                });
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private PoolLoad pool() {
+        HikariPoolLoad jdbc = jdbcPoolLoad.getIfAvailable();
+        return jdbc != null ? jdbc : primary(connectionFactory.getIfAvailable());
+    }
+
+    // Writes and cache fills always hit the primary, so its pool is the one that saturates first
+    private static InstrumentedConnectionFactory primary(ConnectionFactory factory) {
+        if (factory instanceof InstrumentedConnectionFactory instrumented) {
+            return instrumented;
+        }
+        if (factory instanceof ReadWriteRoutingConnectionFactory routing) {
+            return routing.getPrimary();
+        }
+        return null;
+    }
+
+    private void adjust(PoolLoad pool) {
+        if (pool != null && pool.getRecentAcquireTime().compareTo(properties.getAcquireLatencyThreshold()) > 0) {
+            decrease();
+        } else {
+            limit.updateAndGet(current -> Math.min(properties.getMaxLimit(), current + 1));
+        }
+    }
+
+    private void decrease() {
+        long now = System.nanoTime();
+        long last = lastDecrease.get();
+        if (now - last >= properties.getDecreaseInterval().toNanos() && lastDecrease.compareAndSet(last, now)) {
+            limit.updateAndGet(current -> Math.max(properties.getMinLimit(), current - Math.max(1, current / 10)));
+        }
+    }
+
+    private Mono<Void> overloaded(ServerWebExchange exchange) {
+        return Rejections.reject(exchange, objectMapper, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1),
+                "Service is overloaded, retry later", "SERVICE_OVERLOADED");
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+}
@@ -0,0 +1,96 @@
+package com.fallt.qafordevs_reactive.filter;
+
+import com.fallt.qafordevs_reactive.config.DeveloperProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@ConditionalOnProperty(value = "developers.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitingWebFilter implements WebFilter, Ordered {
+
+    private final ObjectMapper objectMapper;
+
+    private final String apiKeyHeader;
+
+    // Unknown keys are ignored, otherwise a client could get a fresh bucket by sending a new key per request
+    private final Set<String> apiKeys;
+
+    private final long emissionIntervalNanos;
+
+    private final long burstToleranceNanos;
+
+    // One theoretical arrival time per client (GCRA), updated with CAS instead of locks
+    private final Cache<String, AtomicLong> arrivals;
+
+    public RateLimitingWebFilter(DeveloperProperties developerProperties, ObjectMapper objectMapper) {
+        DeveloperProperties.RateLimit properties = developerProperties.getRateLimit();
+        this.objectMapper = objectMapper;
+        this.apiKeyHeader = properties.getApiKeyHeader();
+        this.apiKeys = Set.copyOf(properties.getApiKeys());
+        this.emissionIntervalNanos = TimeUnit.SECONDS.toNanos(1) / properties.getRequestsPerSecond();
+        this.burstToleranceNanos = emissionIntervalNanos * properties.getBurst();
+        this.arrivals = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .expireAfterAccess(properties.getClientIdleTimeout())
+                .build();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!exchange.getRequest().getPath().value().startsWith(Rejections.API_PATH_PREFIX)) {
+            return chain.filter(exchange);
+        }
+        long now = System.nanoTime();
+        long waitNanos = tryAcquire(arrivals.get(clientKey(exchange.getRequest()), key -> new AtomicLong(now)), now);
+        if (waitNanos == 0) {
+            return chain.filter(exchange);
+        }
+        return Rejections.reject(exchange, objectMapper, HttpStatus.TOO_MANY_REQUESTS, waitNanos,
+                "Rate limit exceeded", "RATE_LIMIT_EXCEEDED");
+    }
+
+    private long tryAcquire(AtomicLong arrival, long now) {
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long waitNanos = next - burstToleranceNanos - now;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private String clientKey(ServerHttpRequest request) {
+        String apiKey = request.getHeaders().getFirst(apiKeyHeader);
+        if (apiKey != null && apiKeys.contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        InetSocketAddress address = request.getRemoteAddress();
+        return address == null || address.getAddress() == null
+                ? "ip:unknown"
+                : "ip:" + address.getAddress().getHostAddress();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,32 @@
+package com.fallt.qafordevs_reactive.filter;
+
+import com.fallt.qafordevs_reactive.config.ConnectionRouting;
+import com.fallt.qafordevs_reactive.config.DeveloperProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Lets a caller that has just written opt out of replica reads for a request by sending
+ * the read-your-writes header, so it never observes replication lag.
+ */
+@Component
+public class ReadYourWritesWebFilter implements WebFilter {
+
+    private final String headerName;
+
+    public ReadYourWritesWebFilter(DeveloperProperties developerProperties) {
+        this.headerName = developerProperties.getRouting().getReadYourWritesHeader();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (Boolean.parseBoolean(exchange.getRequest().getHeaders().getFirst(headerName))) {
+            return chain.filter(exchange)
+                    .contextWrite(ConnectionRouting::primaryRequired);
+        }
+        return chain.filter(exchange);
+    }
+}
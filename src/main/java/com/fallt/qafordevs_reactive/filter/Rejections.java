@@ -0,0 +1,35 @@
+package com.fallt.qafordevs_reactive.filter;
+
+import com.fallt.qafordevs_reactive.dto.ErrorDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+final class Rejections {
+
+    static final String API_PATH_PREFIX = "/api/";
+
+    private Rejections() {
+    }
+
+    static Mono<Void> reject(ServerWebExchange exchange, ObjectMapper objectMapper, HttpStatus status,
+                             long retryAfterNanos, String message, String errorCode) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1))));
+        ErrorDto errorDto = ErrorDto.builder()
+                .message(message)
+                .errorCode(errorCode)
+                .build();
+        return Mono.fromCallable(() -> response.bufferFactory().wrap(objectMapper.writeValueAsBytes(errorDto)))
+                .flatMap(buffer -> response.writeWith(Mono.just(buffer)));
+    }
+}
@@ -0,0 +1,80 @@
+package com.fallt.qafordevs_reactive.listener;
+
+import com.fallt.qafordevs_reactive.service.DeveloperLookupCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcConnectionDetails;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "developers.cache.listen-for-changes", havingValue = "true", matchIfMissing = true)
+public class DeveloperChangeNotificationListener {
+
+    public static final String CHANNEL = "developers_changes";
+
+    private final R2dbcConnectionDetails connectionDetails;
+
+    private final DeveloperLookupCache developerCache;
+
+    private final ObjectMapper objectMapper;
+
+    private Disposable subscription;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(connectionDetails.getConnectionFactoryOptions());
+        subscription = Flux.usingWhen(Mono.<Connection>from(connectionFactory.create()), this::listen, Connection::close)
+                .doOnError(e -> log.warn("Lost '{}' notification connection, reconnecting", CHANNEL, e))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe(this::onNotification);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private Flux<Notification> listen(Connection connection) {
+        PostgresqlConnection postgresqlConnection = (PostgresqlConnection) connection;
+        return postgresqlConnection.createStatement("LISTEN " + CHANNEL)
+                .execute()
+                .flatMap(result -> result.getRowsUpdated())
+                .thenMany(Flux.defer(() -> {
+                    // Changes made while we were not listening are lost, so start from an empty cache
+                    developerCache.invalidateAll();
+                    return postgresqlConnection.getNotifications();
+                }))
+                .concatWith(Mono.error(new IllegalStateException("Notification stream closed")));
+    }
+
+    private void onNotification(Notification notification) {
+        try {
+            JsonNode payload = objectMapper.readTree(notification.getParameter());
+            developerCache.invalidate(payload.get("id").asInt());
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed '{}' notification: {}", CHANNEL, notification.getParameter(), e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.fallt.qafordevs_reactive.metrics;
+
+import com.fallt.qafordevs_reactive.exception.ApiException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.observability.micrometer.Micrometer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class ReactiveMetricsInterceptor implements MethodInterceptor {
+
+    private static final String METHOD_TAG = "method";
+
+    private static final String ERROR_TAG = "error";
+
+    private final String metricName;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String method = invocation.getMethod().getName();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            countError(method, e);
+            throw e;
+        }
+        if (result instanceof Mono<?> mono) {
+            return mono.name(metricName)
+                    .tag(METHOD_TAG, method)
+                    .tap(Micrometer.metrics(meterRegistry.getObject()))
+                    .doOnError(e -> countError(method, e));
+        }
+        if (result instanceof Flux<?> flux) {
+            return flux.name(metricName)
+                    .tag(METHOD_TAG, method)
+                    .tap(Micrometer.metrics(meterRegistry.getObject()))
+                    .doOnError(e -> countError(method, e));
+        }
+        return result;
+    }
+
+    private void countError(String method, Throwable e) {
+        String error = e instanceof ApiException apiException ? apiException.getErrorCode() : e.getClass().getSimpleName();
+        meterRegistry.getObject()
+                .counter(metricName + ".errors", METHOD_TAG, method, ERROR_TAG, error)
+                .increment();
+    }
+}
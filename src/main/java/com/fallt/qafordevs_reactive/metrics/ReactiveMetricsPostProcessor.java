@@ -0,0 +1,31 @@
+package com.fallt.qafordevs_reactive.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class ReactiveMetricsPostProcessor implements BeanPostProcessor {
+
+    private final Map<Class<?>, String> metricNames;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        for (Map.Entry<Class<?>, String> entry : metricNames.entrySet()) {
+            if (entry.getKey().isInstance(bean)) {
+                ProxyFactory proxyFactory = new ProxyFactory();
+                proxyFactory.setTarget(bean);
+                proxyFactory.addInterface(entry.getKey());
+                proxyFactory.addAdvice(new ReactiveMetricsInterceptor(entry.getValue(), meterRegistry));
+                return proxyFactory.getProxy(bean.getClass().getClassLoader());
+            }
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,61 @@
+package com.fallt.qafordevs_reactive.repository;
+
+import com.fallt.qafordevs_reactive.entity.DeveloperChangeEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@RequiredArgsConstructor
+public class DeveloperChangeRepository {
+
+    private static final String FIND_BOUNDS = "SELECT min(sequence) AS first, max(sequence) AS last FROM developer_changes";
+
+    private static final String FIND_BETWEEN = """
+            SELECT * FROM developer_changes
+            WHERE sequence > :after AND sequence <= :until
+            ORDER BY sequence
+            LIMIT :limit
+            """;
+
+    private static final String DELETE_UP_TO = "DELETE FROM developer_changes WHERE sequence <= :sequence";
+
+    private final DatabaseClient databaseClient;
+
+    private final R2dbcEntityTemplate entityTemplate;
+
+    /**
+     * Oldest and newest retained sequence numbers, both null while the history is empty.
+     */
+    public Mono<Bounds> findBounds() {
+        return databaseClient.sql(FIND_BOUNDS)
+                .map((row, metadata) -> new Bounds(row.get("first", Long.class), row.get("last", Long.class)))
+                .one();
+    }
+
+    public Flux<DeveloperChangeEntity> findAfter(long after, int limit) {
+        return findBetween(after, Long.MAX_VALUE, limit);
+    }
+
+    public Flux<DeveloperChangeEntity> findBetween(long after, long until, int limit) {
+        return databaseClient.sql(FIND_BETWEEN)
+                .bind("after", after)
+                .bind("until", until)
+                .bind("limit", limit)
+                .map((row, metadata) -> entityTemplate.getConverter().read(DeveloperChangeEntity.class, row, metadata))
+                .all();
+    }
+
+    public Mono<Long> deleteUpTo(long sequence) {
+        return databaseClient.sql(DELETE_UP_TO)
+                .bind("sequence", sequence)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public record Bounds(Long first, Long last) {
+    }
+}
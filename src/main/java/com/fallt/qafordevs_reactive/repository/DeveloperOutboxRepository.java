@@ -0,0 +1,110 @@
+package com.fallt.qafordevs_reactive.repository;
+
+import com.fallt.qafordevs_reactive.entity.DeveloperOutboxEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class DeveloperOutboxRepository {
+
+    private static final String APPEND_ALL = """
+            INSERT INTO developer_outbox (developer_id, event_type, payload)
+            SELECT developer_id, event_type, payload
+            FROM unnest(:developerIds, :eventTypes, :payloads) WITH ORDINALITY AS input(developer_id, event_type, payload, position)
+            ORDER BY position
+            """;
+
+    // Claiming pushes next_attempt_at past the lease in one statement, so the batch can be published
+    // outside any transaction; rows locked by another relay are skipped and a relay that dies
+    // mid-publish only delays its batch until the lease ends
+    private static final String CLAIM_BATCH = """
+            WITH claimed AS (
+                UPDATE developer_outbox
+                SET next_attempt_at = now() + make_interval(secs => :leaseSeconds)
+                WHERE id IN (SELECT id FROM developer_outbox
+                             WHERE dead_lettered_at IS NULL AND next_attempt_at <= now()
+                             ORDER BY id
+                             LIMIT :limit
+                             FOR UPDATE SKIP LOCKED)
+                RETURNING *
+            )
+            SELECT * FROM claimed ORDER BY id
+            """;
+
+    private static final String DELETE_ALL_BY_ID = "DELETE FROM developer_outbox WHERE id = ANY(:ids)";
+
+    // The exponent is capped so the backoff stays finite however many attempts an event has had
+    private static final String RESCHEDULE = """
+            UPDATE developer_outbox
+            SET attempts = attempts + 1,
+                next_attempt_at = now() + make_interval(secs => least(:backoffSeconds * power(2, least(attempts, 30)), :maxBackoffSeconds)),
+                dead_lettered_at = CASE WHEN attempts + 1 >= :maxAttempts THEN now() END
+            WHERE id = ANY(:ids)
+            """;
+
+    // For failures that say nothing about the events themselves, so no attempt is counted
+    private static final String POSTPONE = """
+            UPDATE developer_outbox
+            SET next_attempt_at = now() + make_interval(secs => :delaySeconds)
+            WHERE id = ANY(:ids)
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    private final R2dbcEntityTemplate entityTemplate;
+
+    public Mono<Void> appendAll(List<DeveloperOutboxEntity> events) {
+        if (events.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql(APPEND_ALL)
+                .bind("developerIds", events.stream().map(DeveloperOutboxEntity::getDeveloperId).toArray(Integer[]::new))
+                .bind("eventTypes", events.stream().map(event -> event.getEventType().name()).toArray(String[]::new))
+                .bind("payloads", events.stream().map(DeveloperOutboxEntity::getPayload).toArray(String[]::new))
+                .then();
+    }
+
+    /**
+     * Leases up to {@code limit} due events to the caller, other relays skip them until the lease ends.
+     */
+    public Flux<DeveloperOutboxEntity> claimBatch(int limit, Duration lease) {
+        return databaseClient.sql(CLAIM_BATCH)
+                .bind("limit", limit)
+                .bind("leaseSeconds", lease.toMillis() / 1000.0)
+                .map((row, metadata) -> entityTemplate.getConverter().read(DeveloperOutboxEntity.class, row, metadata))
+                .all();
+    }
+
+    public Mono<Long> deleteAllById(Long[] ids) {
+        return databaseClient.sql(DELETE_ALL_BY_ID)
+                .bind("ids", ids)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> postpone(Long[] ids, Duration delay) {
+        return databaseClient.sql(POSTPONE)
+                .bind("ids", ids)
+                .bind("delaySeconds", delay.toMillis() / 1000.0)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> reschedule(Long[] ids, Duration backoff, Duration maxBackoff, int maxAttempts) {
+        return databaseClient.sql(RESCHEDULE)
+                .bind("ids", ids)
+                .bind("backoffSeconds", backoff.toMillis() / 1000.0)
+                .bind("maxBackoffSeconds", maxBackoff.toMillis() / 1000.0)
+                .bind("maxAttempts", maxAttempts)
+                .fetch()
+                .rowsUpdated();
+    }
+}
@@ -1,15 +1,55 @@
 package com.fallt.qafordevs_reactive.repository;
 
 import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
+import com.fallt.qafordevs_reactive.entity.DeveloperListValidatorEntity;
+import com.fallt.qafordevs_reactive.entity.DeveloperStatsEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public interface DeveloperRepository extends R2dbcRepository<DeveloperEntity, Integer> {
+public interface DeveloperRepository extends R2dbcRepository<DeveloperEntity, Integer>, DeveloperRepositoryCustom {
 
+    // The expression of the trigram index, repeated verbatim so the planner can match it
+    String SEARCH_TEXT = "lower(coalesce(first_name, '') || ' ' || coalesce(last_name, '') || ' ' || coalesce(email, ''))";
+
+    // Shared with the JDBC backend; <->> is one minus word_similarity and is served by the GiST index
+    String SEARCH = "SELECT * FROM developers\n"
+            + "WHERE " + SEARCH_TEXT + " LIKE :pattern AND status <> 'DELETED'\n"
+            + "ORDER BY " + SEARCH_TEXT + " <->> :query, id\n"
+            + "LIMIT :limit\n";
+
+    @Query("SELECT * FROM developers WHERE lower(email) = lower(:email)")
     Mono<DeveloperEntity> findByEmail(String email);
 
-    @Query("SELECT d FROM developers d WHERE d.status = 'ACTIVE' AND d.specialty = ?1")
+    @Query("SELECT * FROM developers WHERE status = 'ACTIVE' AND specialty = :specialty ORDER BY id")
     Flux<DeveloperEntity> findAllActiveBySpecialty(String specialty);
+
+    @Query("""
+            SELECT count(*) AS count,
+                   (SELECT coalesce(sum(revision), 0)::bigint FROM developer_list_revisions WHERE specialty = :specialty) AS revision
+            FROM developers WHERE status = 'ACTIVE' AND specialty = :specialty
+            """)
+    Mono<DeveloperListValidatorEntity> findActiveBySpecialtyValidator(String specialty);
+
+    @Query("SELECT * FROM developers WHERE id = ANY(:ids)")
+    Flux<DeveloperEntity> findAllByIdIn(Integer[] ids);
+
+    @Query("SELECT * FROM developers WHERE id > :afterId ORDER BY id LIMIT :limit")
+    Flux<DeveloperEntity> findPageAfterId(Integer afterId, int limit);
+
+    @Query(SEARCH)
+    Flux<DeveloperEntity> search(String query, String pattern, int limit);
+
+    @Query("SELECT specialty, status, sum(count)::bigint AS count FROM developer_stats GROUP BY specialty, status HAVING sum(count) > 0")
+    Flux<DeveloperStatsEntity> findStats();
+
+    @Modifying
+    @Query("UPDATE developers SET status = 'DELETED', version = version + 1 WHERE id = :id")
+    Mono<Long> softDeleteById(Integer id);
+
+    @Modifying
+    @Query("DELETE FROM developers WHERE id = :id")
+    Mono<Long> hardDeleteById(Integer id);
 }
@@ -0,0 +1,30 @@
+package com.fallt.qafordevs_reactive.repository;
+
+import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public interface DeveloperRepositoryCustom {
+
+    Set<String> SELECTABLE_FIELDS = Set.of("id", "firstName", "lastName", "email", "specialty", "status", "version");
+
+    Mono<DeveloperEntity> insertIfEmailAbsent(DeveloperEntity developer);
+
+    Flux<Optional<DeveloperEntity>> insertAllIfEmailAbsent(List<DeveloperEntity> developers);
+
+    Mono<DeveloperEntity> update(DeveloperEntity developer);
+
+    /**
+     * @param columns changed values keyed by entity property name
+     * @return the updated row, empty when the version no longer matches
+     */
+    Mono<DeveloperEntity> updateColumns(Integer id, Long version, Map<String, Object> columns);
+
+    Flux<DeveloperEntity> selectActiveBySpecialty(String specialty, Collection<String> fields);
+}
@@ -0,0 +1,167 @@
+package com.fallt.qafordevs_reactive.repository;
+
+import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
+import com.fallt.qafordevs_reactive.entity.Status;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+
+@RequiredArgsConstructor
+public class DeveloperRepositoryCustomImpl implements DeveloperRepositoryCustom {
+
+    private static final String INSERT_IF_EMAIL_ABSENT = """
+            INSERT INTO developers (email, first_name, last_name, specialty, status)
+            VALUES (:email, :firstName, :lastName, :specialty, :status)
+            ON CONFLICT DO NOTHING
+            RETURNING *
+            """;
+
+    private static final String BATCH_INSERT_IF_EMAIL_ABSENT = """
+            INSERT INTO developers (email, first_name, last_name, specialty, status)
+            VALUES ($1, $2, $3, $4, $5)
+            ON CONFLICT DO NOTHING
+            RETURNING *
+            """;
+
+    private static final String UPDATE = """
+            UPDATE developers
+            SET email = :email, first_name = :firstName, last_name = :lastName, specialty = :specialty, status = :status,
+                version = version + 1
+            WHERE id = :id%s
+            RETURNING *
+            """;
+
+    private static final String UPDATE_COLUMNS = """
+            UPDATE developers
+            SET %s, version = version + 1
+            WHERE id = :id AND version = :version
+            RETURNING *
+            """;
+
+    private static final String VERSION_CONDITION = " AND version = :version";
+
+    private final DatabaseClient databaseClient;
+
+    private final R2dbcEntityTemplate entityTemplate;
+
+    @Override
+    public Mono<DeveloperEntity> insertIfEmailAbsent(DeveloperEntity developer) {
+        return bindColumns(databaseClient.sql(INSERT_IF_EMAIL_ABSENT), developer)
+                .map(this::toEntity)
+                .one();
+    }
+
+    @Override
+    public Flux<Optional<DeveloperEntity>> insertAllIfEmailAbsent(List<DeveloperEntity> developers) {
+        if (developers.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(BATCH_INSERT_IF_EMAIL_ABSENT);
+            for (int i = 0; i < developers.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                bind(statement, developers.get(i));
+            }
+            return Flux.from(statement.execute())
+                    .concatMap(result -> Flux.from(result.map(this::toEntity))
+                            .next()
+                            .map(Optional::of)
+                            .defaultIfEmpty(Optional.empty()));
+        });
+    }
+
+    @Override
+    public Mono<DeveloperEntity> update(DeveloperEntity developer) {
+        Long version = developer.getVersion();
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(UPDATE.formatted(version == null ? "" : VERSION_CONDITION));
+        spec = bind(bindColumns(spec, developer), "id", developer.getId(), Integer.class);
+        if (version != null) {
+            spec = spec.bind("version", version);
+        }
+        return spec.map(this::toEntity).one();
+    }
+
+    @Override
+    public Mono<DeveloperEntity> updateColumns(Integer id, Long version, Map<String, Object> columns) {
+        RelationalPersistentEntity<?> entity = entityTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(DeveloperEntity.class);
+        StringJoiner assignments = new StringJoiner(", ");
+        columns.keySet().forEach(property -> assignments.add(
+                entity.getRequiredPersistentProperty(property).getColumnName().getReference() + " = :" + property));
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(UPDATE_COLUMNS.formatted(assignments))
+                .bind("id", id)
+                .bind("version", version);
+        for (Map.Entry<String, Object> column : columns.entrySet()) {
+            spec = bind(spec, column.getKey(), column.getValue(), String.class);
+        }
+        return spec.map(this::toEntity).one();
+    }
+
+    @Override
+    public Flux<DeveloperEntity> selectActiveBySpecialty(String specialty, Collection<String> fields) {
+        RelationalPersistentEntity<?> entity = entityTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(DeveloperEntity.class);
+        // id is always selected so rows stay addressable and ordering is stable
+        Set<SqlIdentifier> columns = new LinkedHashSet<>();
+        columns.add(entity.getRequiredIdProperty().getColumnName());
+        fields.forEach(field -> columns.add(entity.getRequiredPersistentProperty(field).getColumnName()));
+        Query query = Query.query(Criteria.where("status").is(Status.ACTIVE.name()).and("specialty").is(specialty))
+                .columns(columns.toArray(SqlIdentifier[]::new))
+                .sort(Sort.by("id"));
+        return entityTemplate.select(query, DeveloperEntity.class);
+    }
+
+    private DeveloperEntity toEntity(Row row, RowMetadata metadata) {
+        return entityTemplate.getConverter().read(DeveloperEntity.class, row, metadata);
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindColumns(DatabaseClient.GenericExecuteSpec spec,
+                                                                 DeveloperEntity developer) {
+        spec = bind(spec, "email", developer.getEmail(), String.class);
+        spec = bind(spec, "firstName", developer.getFirstName(), String.class);
+        spec = bind(spec, "lastName", developer.getLastName(), String.class);
+        spec = bind(spec, "specialty", developer.getSpecialty(), String.class);
+        return bind(spec, "status", developer.getStatus() == null ? null : developer.getStatus().name(), String.class);
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, String name,
+                                                          Object value, Class<?> type) {
+        return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+    }
+
+    private static void bind(Statement statement, DeveloperEntity developer) {
+        bind(statement, 0, developer.getEmail());
+        bind(statement, 1, developer.getFirstName());
+        bind(statement, 2, developer.getLastName());
+        bind(statement, 3, developer.getSpecialty());
+        bind(statement, 4, developer.getStatus() == null ? null : developer.getStatus().name());
+    }
+
+    private static void bind(Statement statement, int index, String value) {
+        if (value == null) {
+            statement.bindNull(index, String.class);
+        } else {
+            statement.bind(index, value);
+        }
+    }
+}
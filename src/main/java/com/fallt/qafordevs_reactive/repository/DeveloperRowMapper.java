@@ -0,0 +1,64 @@
+package com.fallt.qafordevs_reactive.repository;
+
+import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
+import com.fallt.qafordevs_reactive.entity.Status;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Maps whichever developers columns a query selected, leaving the others null.
+ * Holds the column set of the current result, so use one instance per query.
+ */
+class DeveloperRowMapper implements RowMapper<DeveloperEntity> {
+
+    private Set<String> columns;
+
+    @Override
+    public DeveloperEntity mapRow(ResultSet rs, int rowNum) throws SQLException {
+        if (columns == null || rowNum == 0) {
+            columns = columns(rs.getMetaData());
+        }
+        DeveloperEntity developer = new DeveloperEntity();
+        if (columns.contains("id")) {
+            developer.setId(rs.getInt("id"));
+        }
+        if (columns.contains("first_name")) {
+            developer.setFirstName(rs.getString("first_name"));
+        }
+        if (columns.contains("last_name")) {
+            developer.setLastName(rs.getString("last_name"));
+        }
+        if (columns.contains("email")) {
+            developer.setEmail(rs.getString("email"));
+        }
+        if (columns.contains("specialty")) {
+            developer.setSpecialty(rs.getString("specialty"));
+        }
+        if (columns.contains("status")) {
+            String status = rs.getString("status");
+            developer.setStatus(status == null ? null : Status.valueOf(status));
+        }
+        if (columns.contains("version")) {
+            developer.setVersion(rs.getObject("version", Long.class));
+        }
+        if (columns.contains("updated_at")) {
+            Timestamp updatedAt = rs.getTimestamp("updated_at");
+            developer.setUpdatedAt(updatedAt == null ? null : updatedAt.toInstant());
+        }
+        return developer;
+    }
+
+    private static Set<String> columns(ResultSetMetaData metadata) throws SQLException {
+        Set<String> columns = new HashSet<>();
+        for (int i = 1; i <= metadata.getColumnCount(); i++) {
+            columns.add(metadata.getColumnLabel(i));
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,85 @@
+package com.fallt.qafordevs_reactive.repository;
+
+import com.fallt.qafordevs_reactive.entity.IdempotencyKeyEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepository {
+
+    // An expired key, or one whose first request died before completing, can be claimed again
+    private static final String CLAIM = """
+            INSERT INTO idempotency_keys (idempotency_key, operation, request_hash, expires_at)
+            VALUES (:key, :operation, :requestHash, now() + make_interval(secs => :ttlSeconds))
+            ON CONFLICT (idempotency_key, operation) DO UPDATE
+            SET request_hash = excluded.request_hash, response_body = NULL, created_at = now(), expires_at = excluded.expires_at
+            WHERE idempotency_keys.expires_at < now()
+               OR (idempotency_keys.response_body IS NULL AND idempotency_keys.created_at < now() - make_interval(secs => :leaseSeconds))
+            RETURNING idempotency_key
+            """;
+
+    private static final String FIND = """
+            SELECT * FROM idempotency_keys
+            WHERE idempotency_key = :key AND operation = :operation AND expires_at >= now()
+            """;
+
+    private static final String COMPLETE = """
+            UPDATE idempotency_keys SET response_body = :responseBody
+            WHERE idempotency_key = :key AND operation = :operation
+            """;
+
+    private static final String RELEASE = "DELETE FROM idempotency_keys WHERE idempotency_key = :key AND operation = :operation";
+
+    private static final String DELETE_EXPIRED = "DELETE FROM idempotency_keys WHERE expires_at < now()";
+
+    private final DatabaseClient databaseClient;
+
+    private final R2dbcEntityTemplate entityTemplate;
+
+    public Mono<Boolean> tryClaim(String key, String operation, String requestHash, Duration ttl, Duration lease) {
+        return databaseClient.sql(CLAIM)
+                .bind("key", key)
+                .bind("operation", operation)
+                .bind("requestHash", requestHash)
+                .bind("ttlSeconds", ttl.toSeconds())
+                .bind("leaseSeconds", lease.toSeconds())
+                .map((row, metadata) -> Boolean.TRUE)
+                .one()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    public Mono<IdempotencyKeyEntity> find(String key, String operation) {
+        return databaseClient.sql(FIND)
+                .bind("key", key)
+                .bind("operation", operation)
+                .map((row, metadata) -> entityTemplate.getConverter().read(IdempotencyKeyEntity.class, row, metadata))
+                .one();
+    }
+
+    public Mono<Void> complete(String key, String operation, String responseBody) {
+        return databaseClient.sql(COMPLETE)
+                .bind("key", key)
+                .bind("operation", operation)
+                .bind("responseBody", responseBody)
+                .then();
+    }
+
+    public Mono<Void> release(String key, String operation) {
+        return databaseClient.sql(RELEASE)
+                .bind("key", key)
+                .bind("operation", operation)
+                .then();
+    }
+
+    public Mono<Long> deleteExpired() {
+        return databaseClient.sql(DELETE_EXPIRED)
+                .fetch()
+                .rowsUpdated();
+    }
+}
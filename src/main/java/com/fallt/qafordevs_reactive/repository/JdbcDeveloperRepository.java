@@ -0,0 +1,279 @@
+package com.fallt.qafordevs_reactive.repository;
+
+import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
+import com.fallt.qafordevs_reactive.entity.DeveloperListValidatorEntity;
+import com.fallt.qafordevs_reactive.entity.DeveloperOutboxEntity;
+import com.fallt.qafordevs_reactive.entity.DeveloperStatsEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * Blocking counterpart of {@link DeveloperRepository} used by the JDBC backend.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "developers", name = "backend", havingValue = "jdbc")
+public class JdbcDeveloperRepository {
+
+    private static final Map<String, String> COLUMNS = Map.of(
+            "id", "id",
+            "firstName", "first_name",
+            "lastName", "last_name",
+            "email", "email",
+            "specialty", "specialty",
+            "status", "status",
+            "version", "version");
+
+    private static final String INSERT_IF_EMAIL_ABSENT = """
+            INSERT INTO developers (email, first_name, last_name, specialty, status)
+            VALUES (:email, :firstName, :lastName, :specialty, :status)
+            ON CONFLICT DO NOTHING
+            RETURNING *
+            """;
+
+    // One round trip per chunk; rows are matched back to their input by email
+    private static final String INSERT_ALL_IF_EMAIL_ABSENT = """
+            INSERT INTO developers (email, first_name, last_name, specialty, status)
+            SELECT email, first_name, last_name, specialty, status
+            FROM unnest(?, ?, ?, ?, ?) WITH ORDINALITY AS input(email, first_name, last_name, specialty, status, position)
+            ORDER BY position
+            ON CONFLICT DO NOTHING
+            RETURNING *
+            """;
+
+    private static final String UPDATE = """
+            UPDATE developers
+            SET email = :email, first_name = :firstName, last_name = :lastName, specialty = :specialty, status = :status,
+                version = version + 1
+            WHERE id = :id%s
+            RETURNING *
+            """;
+
+    private static final String VERSION_CONDITION = " AND version = :version";
+
+    private static final String UPDATE_COLUMNS = "UPDATE developers SET %s, version = :version + 1 WHERE id = :id AND version = :version RETURNING *";
+
+    private static final String EXISTS_BY_ID = "SELECT EXISTS (SELECT 1 FROM developers WHERE id = :id)";
+
+    private static final String FIND_BY_ID = "SELECT * FROM developers WHERE id = :id";
+
+    private static final String FIND_ALL_BY_ID_IN = "SELECT * FROM developers WHERE id IN (:ids)";
+
+    private static final String FIND_PAGE_AFTER_ID = "SELECT * FROM developers WHERE id > :afterId ORDER BY id LIMIT :limit";
+
+    private static final String SELECT_ACTIVE_BY_SPECIALTY = "SELECT %s FROM developers WHERE status = 'ACTIVE' AND specialty = :specialty ORDER BY id";
+
+    private static final String FIND_ACTIVE_BY_SPECIALTY_VALIDATOR = """
+            SELECT count(*) AS count,
+                   (SELECT coalesce(sum(revision), 0)::bigint FROM developer_list_revisions WHERE specialty = :specialty) AS revision
+            FROM developers WHERE status = 'ACTIVE' AND specialty = :specialty
+            """;
+
+    private static final String FIND_STATS = "SELECT specialty, status, sum(count)::bigint AS count FROM developer_stats GROUP BY specialty, status HAVING sum(count) > 0";
+
+    private static final String SOFT_DELETE_BY_ID = "UPDATE developers SET status = 'DELETED', version = version + 1 WHERE id = :id";
+
+    private static final String HARD_DELETE_BY_ID = "DELETE FROM developers WHERE id = :id";
+
+    private static final String APPEND_OUTBOX = """
+            INSERT INTO developer_outbox (developer_id, event_type, payload)
+            VALUES (:developerId, :eventType, :payload)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Optional<DeveloperEntity> insertIfEmailAbsent(DeveloperEntity developer) {
+        return jdbcTemplate.query(INSERT_IF_EMAIL_ABSENT, columns(developer), new DeveloperRowMapper())
+                .stream()
+                .findFirst();
+    }
+
+    public List<Optional<DeveloperEntity>> insertAllIfEmailAbsent(List<DeveloperEntity> developers) {
+        if (developers.isEmpty()) {
+            return List.of();
+        }
+        List<DeveloperEntity> inserted = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<List<DeveloperEntity>>) connection -> {
+            String[][] values = new String[5][developers.size()];
+            for (int i = 0; i < developers.size(); i++) {
+                DeveloperEntity developer = developers.get(i);
+                values[0][i] = developer.getEmail();
+                values[1][i] = developer.getFirstName();
+                values[2][i] = developer.getLastName();
+                values[3][i] = developer.getSpecialty();
+                values[4][i] = developer.getStatus() == null ? null : developer.getStatus().name();
+            }
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_ALL_IF_EMAIL_ABSENT)) {
+                for (int i = 0; i < values.length; i++) {
+                    Array array = connection.createArrayOf("varchar", values[i]);
+                    statement.setArray(i + 1, array);
+                }
+                List<DeveloperEntity> rows = new ArrayList<>(developers.size());
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    DeveloperRowMapper rowMapper = new DeveloperRowMapper();
+                    while (resultSet.next()) {
+                        rows.add(rowMapper.mapRow(resultSet, rows.size()));
+                    }
+                }
+                return rows;
+            }
+        });
+        Map<String, Deque<DeveloperEntity>> insertedByEmail = new HashMap<>();
+        for (DeveloperEntity developer : inserted) {
+            insertedByEmail.computeIfAbsent(emailKey(developer), key -> new ArrayDeque<>()).add(developer);
+        }
+        // A repeated email inside the chunk resolves to the first occurrence, like the R2DBC batch
+        List<Optional<DeveloperEntity>> results = new ArrayList<>(developers.size());
+        for (DeveloperEntity developer : developers) {
+            Deque<DeveloperEntity> candidates = insertedByEmail.get(emailKey(developer));
+            results.add(Optional.ofNullable(candidates == null ? null : candidates.poll()));
+        }
+        return results;
+    }
+
+    private static String emailKey(DeveloperEntity developer) {
+        return developer.getEmail() == null ? null : developer.getEmail().toLowerCase(Locale.ROOT);
+    }
+
+    public Optional<DeveloperEntity> update(DeveloperEntity developer) {
+        Long version = developer.getVersion();
+        MapSqlParameterSource parameters = columns(developer).addValue("id", developer.getId());
+        if (version != null) {
+            parameters.addValue("version", version);
+        }
+        return jdbcTemplate.query(UPDATE.formatted(version == null ? "" : VERSION_CONDITION), parameters, new DeveloperRowMapper())
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * @param columns changed values keyed by entity property name
+     * @return the updated row, empty when the version no longer matches
+     */
+    public Optional<DeveloperEntity> updateColumns(Integer id, Long version, Map<String, Object> columns) {
+        StringJoiner assignments = new StringJoiner(", ");
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("version", version);
+        columns.forEach((property, value) -> {
+            assignments.add(COLUMNS.get(property) + " = :" + property);
+            parameters.addValue(property, value);
+        });
+        return jdbcTemplate.query(UPDATE_COLUMNS.formatted(assignments), parameters, new DeveloperRowMapper())
+                .stream()
+                .findFirst();
+    }
+
+    public boolean existsById(Integer id) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(EXISTS_BY_ID, new MapSqlParameterSource("id", id), Boolean.class));
+    }
+
+    public Optional<DeveloperEntity> findById(Integer id) {
+        return jdbcTemplate.query(FIND_BY_ID, new MapSqlParameterSource("id", id), new DeveloperRowMapper())
+                .stream()
+                .findFirst();
+    }
+
+    public List<DeveloperEntity> findAllByIdIn(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(FIND_ALL_BY_ID_IN, new MapSqlParameterSource("ids", ids), new DeveloperRowMapper());
+    }
+
+    public List<DeveloperEntity> findPageAfterId(Integer afterId, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("afterId", afterId)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(FIND_PAGE_AFTER_ID, parameters, new DeveloperRowMapper());
+    }
+
+    /**
+     * @param fields entity property names from {@link DeveloperRepositoryCustom#SELECTABLE_FIELDS}, or empty for all columns
+     */
+    public List<DeveloperEntity> findAllActiveBySpecialty(String specialty, Collection<String> fields) {
+        String columns = "*";
+        if (fields != null && !fields.isEmpty()) {
+            // id is always selected so rows stay addressable and ordering is stable
+            StringJoiner joiner = new StringJoiner(", ").add("id");
+            fields.stream()
+                    .filter(field -> !"id".equals(field))
+                    .distinct()
+                    .forEach(field -> joiner.add(COLUMNS.get(field)));
+            columns = joiner.toString();
+        }
+        return jdbcTemplate.query(SELECT_ACTIVE_BY_SPECIALTY.formatted(columns), new MapSqlParameterSource("specialty", specialty),
+                new DeveloperRowMapper());
+    }
+
+    public DeveloperListValidatorEntity findActiveBySpecialtyValidator(String specialty) {
+        return jdbcTemplate.queryForObject(FIND_ACTIVE_BY_SPECIALTY_VALIDATOR, new MapSqlParameterSource("specialty", specialty),
+                (rs, rowNum) -> DeveloperListValidatorEntity.builder()
+                        .count(rs.getLong("count"))
+                        .revision(rs.getLong("revision"))
+                        .build());
+    }
+
+    public List<DeveloperEntity> search(String query, String pattern, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("pattern", pattern)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(DeveloperRepository.SEARCH, parameters, new DeveloperRowMapper());
+    }
+
+    public List<DeveloperStatsEntity> findStats() {
+        return jdbcTemplate.query(FIND_STATS, (rs, rowNum) -> DeveloperStatsEntity.builder()
+                .specialty(rs.getString("specialty"))
+                .status(rs.getString("status"))
+                .count(rs.getLong("count"))
+                .build());
+    }
+
+    public int softDeleteById(Integer id) {
+        return jdbcTemplate.update(SOFT_DELETE_BY_ID, new MapSqlParameterSource("id", id));
+    }
+
+    public int hardDeleteById(Integer id) {
+        return jdbcTemplate.update(HARD_DELETE_BY_ID, new MapSqlParameterSource("id", id));
+    }
+
+    public void appendOutbox(List<DeveloperOutboxEntity> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource[] parameters = events.stream()
+                .map(event -> new MapSqlParameterSource()
+                        .addValue("developerId", event.getDeveloperId())
+                        .addValue("eventType", event.getEventType().name())
+                        .addValue("payload", event.getPayload()))
+                .toArray(MapSqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(APPEND_OUTBOX, parameters);
+    }
+
+    private static MapSqlParameterSource columns(DeveloperEntity developer) {
+        return new MapSqlParameterSource()
+                .addValue("email", developer.getEmail())
+                .addValue("firstName", developer.getFirstName())
+                .addValue("lastName", developer.getLastName())
+                .addValue("specialty", developer.getSpecialty())
+                .addValue("status", developer.getStatus() == null ? null : developer.getStatus().name());
+    }
+}
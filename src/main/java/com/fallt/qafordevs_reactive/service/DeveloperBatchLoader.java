@@ -0,0 +1,91 @@
+package com.fallt.qafordevs_reactive.service;
+
+import com.fallt.qafordevs_reactive.config.DeveloperProperties;
+import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
+import com.fallt.qafordevs_reactive.repository.DeveloperRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Collects single-id lookups issued within a short window (or until the batch is full)
+ * into one {@code WHERE id = ANY(:ids)} query and completes each caller with its own row.
+ */
+@Slf4j
+@Component
+public class DeveloperBatchLoader {
+
+    private final DeveloperRepository developerRepository;
+
+    // FluxSink serializes concurrent producers through its own queue, so callers on
+    // different event loops never spin waiting for each other to finish an emission
+    private final FluxSink<PendingLoad> pending;
+
+    private final Disposable subscription;
+
+    public DeveloperBatchLoader(DeveloperRepository developerRepository, DeveloperProperties developerProperties) {
+        this.developerRepository = developerRepository;
+        DeveloperProperties.Loader properties = developerProperties.getLoader();
+        AtomicReference<FluxSink<PendingLoad>> sink = new AtomicReference<>();
+        this.subscription = Flux.create(sink::set, FluxSink.OverflowStrategy.BUFFER)
+                .bufferTimeout(properties.getMaxBatchSize(), properties.getWindow())
+                .flatMap(this::loadBatch)
+                .subscribe();
+        this.pending = sink.get();
+    }
+
+    public Mono<DeveloperEntity> load(Integer id) {
+        return Mono.defer(() -> {
+            if (pending.isCancelled()) {
+                return Mono.error(new IllegalStateException("Developer batch loader is stopped"));
+            }
+            Sinks.One<DeveloperEntity> result = Sinks.one();
+            pending.next(new PendingLoad(id, result));
+            return result.asMono();
+        });
+    }
+
+    private Mono<Void> loadBatch(List<PendingLoad> batch) {
+        Integer[] ids = batch.stream()
+                .map(PendingLoad::id)
+                .distinct()
+                .toArray(Integer[]::new);
+        return developerRepository.findAllByIdIn(ids)
+                .collectMap(DeveloperEntity::getId)
+                .doOnNext(developers -> complete(batch, developers))
+                .doOnError(e -> {
+                    log.warn("Failed to load a batch of {} developers", ids.length, e);
+                    batch.forEach(load -> load.result().tryEmitError(e));
+                })
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    private static void complete(List<PendingLoad> batch, Map<Integer, DeveloperEntity> developers) {
+        for (PendingLoad load : batch) {
+            DeveloperEntity developer = developers.get(load.id());
+            if (developer == null) {
+                load.result().tryEmitEmpty();
+            } else {
+                load.result().tryEmitValue(developer);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscription.dispose();
+    }
+
+    private record PendingLoad(Integer id, Sinks.One<DeveloperEntity> result) {
+    }
+}
@@ -0,0 +1,213 @@
+package com.fallt.qafordevs_reactive.service;
+
+import com.fallt.qafordevs_reactive.config.DeveloperProperties;
+import com.fallt.qafordevs_reactive.dto.DeveloperChangeEventDto;
+import com.fallt.qafordevs_reactive.dto.DeveloperDto;
+import com.fallt.qafordevs_reactive.entity.ChangeType;
+import com.fallt.qafordevs_reactive.entity.DeveloperChangeEntity;
+import com.fallt.qafordevs_reactive.repository.DeveloperChangeRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams developer changes from the developer_changes table. Sequence numbers come from the database,
+ * so they are the same on every instance and a client can resume after a restart. A tailer polls new
+ * rows into a small in-memory replay for live subscribers; older positions are replayed from the table
+ * page by page as the subscriber requests them. A subscriber whose position is no longer retained gets
+ * a {@link ChangeType#RESET} event and continues with the live feed.
+ */
+@Slf4j
+@Component
+public class DeveloperChangePublisher {
+
+    private final DeveloperChangeRepository developerChangeRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final DeveloperProperties.Changes properties;
+
+    private final Sinks.Many<DeveloperChangeEventDto> sink;
+
+    // Last sequence handed to the live feed, only advanced by the tailer
+    private final AtomicLong position = new AtomicLong();
+
+    private Instant gapSince;
+
+    private Disposable tailer;
+
+    private Disposable pruner;
+
+    public DeveloperChangePublisher(DeveloperChangeRepository developerChangeRepository, ObjectMapper objectMapper,
+                                    DeveloperProperties developerProperties) {
+        this.developerChangeRepository = developerChangeRepository;
+        this.objectMapper = objectMapper;
+        this.properties = developerProperties.getChanges();
+        this.sink = Sinks.many().replay().limit(properties.getLiveHistorySize());
+    }
+
+    public Flux<DeveloperChangeEventDto> subscribe(Long since) {
+        return Flux.defer(() -> {
+            if (since == null) {
+                return live(position.get());
+            }
+            return developerChangeRepository.findBounds()
+                    .flatMapMany(bounds -> {
+                        boolean retained = bounds.first() == null
+                                ? since <= position.get()
+                                : since >= bounds.first() - 1 && since <= bounds.last();
+                        if (!retained) {
+                            long current = position.get();
+                            return Flux.just(reset(current)).concatWith(live(current));
+                        }
+                        return catchUp(since);
+                    });
+        });
+    }
+
+    // Pages are only fetched once the previous one has been consumed, so a slow subscriber holds at most
+    // one page; the live replay takes over once the subscriber is close enough to the tailer. Half of it
+    // is kept as headroom for events the tailer emits while the subscriber switches over.
+    private Flux<DeveloperChangeEventDto> catchUp(long after) {
+        return Flux.defer(() -> {
+            long until = position.get();
+            if (until - after <= properties.getLiveHistorySize() / 2) {
+                return live(after);
+            }
+            return developerChangeRepository.findBetween(after, until, properties.getReplayPageSize())
+                    .map(this::toEvent)
+                    .collectList()
+                    .flatMapMany(page -> {
+                        long next = page.size() < properties.getReplayPageSize()
+                                ? until
+                                : page.get(page.size() - 1).getSequence();
+                        return Flux.fromIterable(page).concatWith(catchUp(next));
+                    });
+        });
+    }
+
+    private Flux<DeveloperChangeEventDto> live(long after) {
+        Flux<DeveloperChangeEventDto> events = sink.asFlux()
+                .filter(event -> event.getSequence() > after);
+        if (properties.getOverflow() == DeveloperProperties.Changes.Overflow.DROP_OLDEST) {
+            return events.onBackpressureBuffer(properties.getSubscriberBufferSize(),
+                    dropped -> log.debug("Dropped change event {} for a slow subscriber", dropped.getSequence()),
+                    BufferOverflowStrategy.DROP_OLDEST);
+        }
+        return events.onBackpressureBuffer(properties.getSubscriberBufferSize(),
+                dropped -> log.debug("Disconnecting slow change subscriber at event {}", dropped.getSequence()));
+    }
+
+    /**
+     * Hands new changes to the live feed in sequence order. Sequence numbers are taken when a transaction
+     * inserts its rows but become visible when it commits, so a gap is held back for the gap timeout in
+     * case a slower transaction is still going to fill it; after that it is taken as a rollback and skipped.
+     *
+     * @return the number of changes emitted
+     */
+    Mono<Integer> poll() {
+        return developerChangeRepository.findAfter(position.get(), properties.getReplayPageSize())
+                .collectList()
+                .map(this::emit);
+    }
+
+    private int emit(List<DeveloperChangeEntity> changes) {
+        int emitted = 0;
+        for (DeveloperChangeEntity change : changes) {
+            if (change.getSequence() != position.get() + 1) {
+                Instant now = Instant.now();
+                if (gapSince == null) {
+                    gapSince = now;
+                }
+                if (Duration.between(gapSince, now).compareTo(properties.getGapTimeout()) < 0) {
+                    break;
+                }
+                log.debug("Skipping change sequence gap {}..{}", position.get() + 1, change.getSequence() - 1);
+            }
+            gapSince = null;
+            position.set(change.getSequence());
+            sink.tryEmitNext(toEvent(change));
+            emitted++;
+        }
+        return emitted;
+    }
+
+    Mono<Long> prune() {
+        long retainedFrom = position.get() - properties.getHistorySize();
+        return retainedFrom > 0 ? developerChangeRepository.deleteUpTo(retainedFrom) : Mono.just(0L);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        tailer = developerChangeRepository.findBounds()
+                .doOnNext(bounds -> position.set(bounds.last() != null ? bounds.last() : 0L))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .thenMany(Flux.interval(properties.getPollInterval()))
+                .onBackpressureDrop()
+                .concatMap(tick -> poll()
+                        .onErrorResume(e -> {
+                            log.warn("Failed to poll developer changes", e);
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+        pruner = Flux.interval(properties.getPruneInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> prune()
+                        .onErrorResume(e -> {
+                            log.warn("Failed to prune developer changes", e);
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (tailer != null) {
+            tailer.dispose();
+        }
+        if (pruner != null) {
+            pruner.dispose();
+        }
+    }
+
+    private DeveloperChangeEventDto reset(long sequence) {
+        return DeveloperChangeEventDto.builder()
+                .sequence(sequence)
+                .type(ChangeType.RESET)
+                .timestamp(Instant.now())
+                .build();
+    }
+
+    private DeveloperChangeEventDto toEvent(DeveloperChangeEntity change) {
+        return DeveloperChangeEventDto.builder()
+                .sequence(change.getSequence())
+                .type(change.getEventType())
+                .id(change.getDeveloperId())
+                .developer(change.getPayload() == null ? null : read(change.getPayload()))
+                .timestamp(change.getCreatedAt())
+                .build();
+    }
+
+    private DeveloperDto read(String payload) {
+        try {
+            return objectMapper.readValue(payload, DeveloperDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to deserialize developer change", e);
+        }
+    }
+}
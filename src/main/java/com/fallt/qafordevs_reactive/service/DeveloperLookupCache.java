@@ -0,0 +1,97 @@
+package com.fallt.qafordevs_reactive.service;
+
+import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through access to the developer cache that never keeps a fill which raced an invalidation.
+ * Every invalidation bumps a generation; a fill that completes under a newer generation than the one
+ * it started with may hold the pre-write row, so it is handed to its callers but dropped from the cache.
+ */
+@Component
+public class DeveloperLookupCache {
+
+    // Striped so the generations stay bounded; a collision only costs an extra miss
+    private static final int STRIPES = 1024;
+
+    private final AsyncCache<Integer, DeveloperEntity> developerCache;
+
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    private final AtomicLong epoch = new AtomicLong();
+
+    public DeveloperLookupCache(AsyncCache<Integer, DeveloperEntity> developerCache) {
+        this.developerCache = developerCache;
+    }
+
+    public Mono<DeveloperEntity> get(Integer id, Function<Integer, Mono<DeveloperEntity>> loader) {
+        return Mono.fromFuture(() -> {
+            long generation = generation(id);
+            CompletableFuture<DeveloperEntity> future = developerCache.get(id, (key, executor) -> loader.apply(key).toFuture());
+            future.whenComplete((developer, error) -> {
+                if (generation(id) != generation) {
+                    developerCache.asMap().remove(id, future);
+                }
+            });
+            return future;
+        }, true);
+    }
+
+    public Mono<Map<Integer, DeveloperEntity>> getAll(Collection<Integer> ids,
+                                                      Function<Set<Integer>, Mono<Map<Integer, DeveloperEntity>>> loader) {
+        return Mono.fromFuture(() -> {
+            Map<Integer, Long> started = ids.stream()
+                    .distinct()
+                    .collect(Collectors.toMap(Function.identity(), this::generation));
+            return developerCache.getAll(ids, (keys, executor) -> loader.apply(Set.copyOf(keys)).toFuture())
+                    .whenComplete((developers, error) -> {
+                        if (developers != null) {
+                            started.forEach((id, generation) -> {
+                                if (generation(id) != generation) {
+                                    discard(id, developers.get(id));
+                                }
+                            });
+                        }
+                    });
+        }, true);
+    }
+
+    public void invalidate(Integer id) {
+        if (id != null) {
+            generations.incrementAndGet(stripe(id));
+            developerCache.synchronous().invalidate(id);
+        }
+    }
+
+    public void invalidateAll() {
+        epoch.incrementAndGet();
+        developerCache.synchronous().invalidateAll();
+    }
+
+    private void discard(Integer id, DeveloperEntity stale) {
+        CompletableFuture<DeveloperEntity> cached = developerCache.getIfPresent(id);
+        if (cached != null && cached.isDone() && !cached.isCompletedExceptionally() && cached.getNow(null) == stale) {
+            developerCache.asMap().remove(id, cached);
+        }
+    }
+
+    // Both counters only grow, so the sum changes whenever either does
+    private long generation(Integer id) {
+        return generations.get(stripe(id)) + epoch.get();
+    }
+
+    private static int stripe(Integer id) {
+        return Math.floorMod(id.hashCode() * 0x9E3779B9, STRIPES);
+    }
+}
@@ -0,0 +1,54 @@
+package com.fallt.qafordevs_reactive.service;
+
+import com.fallt.qafordevs_reactive.dto.DeveloperDto;
+import com.fallt.qafordevs_reactive.entity.ChangeType;
+import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
+import com.fallt.qafordevs_reactive.entity.DeveloperOutboxEntity;
+import com.fallt.qafordevs_reactive.repository.DeveloperOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Records developer changes in the outbox. Appends must join the transaction of the change itself.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeveloperOutbox {
+
+    private final DeveloperOutboxRepository developerOutboxRepository;
+
+    private final ObjectMapper objectMapper;
+
+    public Mono<Void> append(ChangeType type, Integer id, DeveloperEntity developer) {
+        return Mono.fromCallable(() -> event(type, id, developer))
+                .flatMap(event -> developerOutboxRepository.appendAll(List.of(event)));
+    }
+
+    public Mono<Void> appendAll(ChangeType type, List<DeveloperEntity> developers) {
+        return Mono.fromCallable(() -> developers.stream()
+                        .map(developer -> event(type, developer.getId(), developer))
+                        .toList())
+                .flatMap(developerOutboxRepository::appendAll);
+    }
+
+    public DeveloperOutboxEntity event(ChangeType type, Integer id, DeveloperEntity developer) {
+        return DeveloperOutboxEntity.builder()
+                .developerId(id)
+                .eventType(type)
+                .payload(developer == null ? null : write(DeveloperDto.toDto(developer)))
+                .build();
+    }
+
+    private String write(DeveloperDto developer) {
+        try {
+            return objectMapper.writeValueAsString(developer);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize developer event", e);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.fallt.qafordevs_reactive.service;
+
+import com.fallt.qafordevs_reactive.config.DeveloperProperties;
+import com.fallt.qafordevs_reactive.dto.DeveloperOutboxEventDto;
+import com.fallt.qafordevs_reactive.entity.DeveloperOutboxEntity;
+import com.fallt.qafordevs_reactive.repository.DeveloperOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the developer_outbox table in batches and hands them to the {@link OutboxEventPublisher}.
+ * A batch is leased, published outside any transaction and then deleted. Events the publisher
+ * rejects are rescheduled with exponential backoff and dead-lettered after the configured number
+ * of attempts; a rejected batch that does not say which events were refused is split until they
+ * are isolated. When the publisher is unavailable the whole batch is postponed without counting
+ * an attempt, and the relay itself backs off before claiming again.
+ */
+@Slf4j
+@Service
+public class DeveloperOutboxRelay {
+
+    private final DeveloperOutboxRepository developerOutboxRepository;
+
+    private final OutboxEventPublisher publisher;
+
+    private final DeveloperProperties.Outbox properties;
+
+    private final AtomicInteger unavailableRounds = new AtomicInteger();
+
+    private volatile long resumeAt = System.nanoTime();
+
+    private Disposable relay;
+
+    public DeveloperOutboxRelay(DeveloperOutboxRepository developerOutboxRepository, OutboxEventPublisher publisher,
+                                DeveloperProperties developerProperties) {
+        this.developerOutboxRepository = developerOutboxRepository;
+        this.publisher = publisher;
+        this.properties = developerProperties.getOutbox();
+    }
+
+    /**
+     * Relays batches until the due part of the outbox is empty, unless the relay is backing off.
+     *
+     * @return the number of events published
+     */
+    public Mono<Long> drain() {
+        return Mono.defer(() -> System.nanoTime() - resumeAt < 0
+                ? Mono.just(0L)
+                : relayBatch()
+                        .expand(relayed -> relayed.available() && relayed.claimed() == properties.getBatchSize()
+                                ? relayBatch()
+                                : Mono.empty())
+                        .reduce(0L, (published, relayed) -> published + relayed.published()));
+    }
+
+    // The round is cut off at half the lease, so its outcome is written back before another relay can claim the batch
+    private Mono<Relayed> relayBatch() {
+        return developerOutboxRepository.claimBatch(properties.getBatchSize(), properties.getLease())
+                .collectList()
+                .flatMap(events -> events.isEmpty()
+                        ? Mono.just(new Relayed(0, 0L, true))
+                        : publish(events)
+                                .timeout(properties.getLease().dividedBy(2))
+                                .map(published -> {
+                                    unavailableRounds.set(0);
+                                    return new Relayed(events.size(), published, true);
+                                })
+                                .onErrorResume(e -> postpone(events, e)));
+    }
+
+    private Mono<Long> publish(List<DeveloperOutboxEntity> events) {
+        Long[] ids = ids(events);
+        return publisher.publish(events.stream().map(DeveloperOutboxEventDto::toDto).toList())
+                .then(Mono.defer(() -> developerOutboxRepository.deleteAllById(ids)))
+                .onErrorResume(OutboxEventsRejectedException.class, e -> rejected(events, e));
+    }
+
+    // Halving a rejected batch keeps one bad event from holding back the rest; the price is that events
+    // after it may be delivered before it, which consumers already tolerate since delivery is at least once
+    private Mono<Long> rejected(List<DeveloperOutboxEntity> events, OutboxEventsRejectedException e) {
+        Set<Long> rejectedIds = e.getRejectedIds();
+        List<DeveloperOutboxEntity> rejected = events.stream().filter(event -> rejectedIds.contains(event.getId())).toList();
+        if (!rejected.isEmpty()) {
+            List<DeveloperOutboxEntity> accepted = events.stream().filter(event -> !rejectedIds.contains(event.getId())).toList();
+            log.warn("Publisher rejected {} of {} developer events starting at {}", rejected.size(), events.size(),
+                    events.get(0).getId(), e);
+            return reschedule(rejected)
+                    .then(accepted.isEmpty() ? Mono.just(0L) : developerOutboxRepository.deleteAllById(ids(accepted)));
+        }
+        if (events.size() > 1) {
+            int half = events.size() / 2;
+            return publish(events.subList(0, half))
+                    .flatMap(first -> publish(events.subList(half, events.size())).map(second -> first + second));
+        }
+        log.warn("Publisher rejected developer event {}", events.get(0).getId(), e);
+        return reschedule(events).thenReturn(0L);
+    }
+
+    private Mono<Long> reschedule(List<DeveloperOutboxEntity> events) {
+        return developerOutboxRepository.reschedule(ids(events), properties.getRetryBackoff(), properties.getMaxRetryBackoff(),
+                properties.getMaxAttempts());
+    }
+
+    // Nothing is known about the events when the publisher cannot be reached or does not answer in time,
+    // so none is charged an attempt; retrying them one by one would only multiply the timeouts
+    private Mono<Relayed> postpone(List<DeveloperOutboxEntity> events, Throwable e) {
+        Duration delay = unavailableBackoff(unavailableRounds.getAndIncrement());
+        resumeAt = System.nanoTime() + delay.toNanos();
+        log.warn("Developer event publisher is unavailable, postponing {} events for {}", events.size(), delay, e);
+        return developerOutboxRepository.postpone(ids(events), delay)
+                .thenReturn(new Relayed(events.size(), 0L, false));
+    }
+
+    private Duration unavailableBackoff(int rounds) {
+        Duration backoff = properties.getRetryBackoff().multipliedBy(1L << Math.min(rounds, 20));
+        return backoff.compareTo(properties.getMaxRetryBackoff()) > 0 ? properties.getMaxRetryBackoff() : backoff;
+    }
+
+    private static Long[] ids(List<DeveloperOutboxEntity> events) {
+        return events.stream().map(DeveloperOutboxEntity::getId).toArray(Long[]::new);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isRelayEnabled()) {
+            return;
+        }
+        relay = Flux.interval(properties.getPollInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> drain()
+                        .doOnNext(published -> {
+                            if (published > 0) {
+                                log.debug("Relayed {} developer events", published);
+                            }
+                        })
+                        .onErrorResume(e -> {
+                            log.warn("Failed to relay developer events", e);
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (relay != null) {
+            relay.dispose();
+        }
+    }
+
+    private record Relayed(int claimed, long published, boolean available) {
+    }
+}
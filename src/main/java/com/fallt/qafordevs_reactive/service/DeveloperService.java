@@ -1,22 +1,45 @@
 package com.fallt.qafordevs_reactive.service;
 
+import com.fallt.qafordevs_reactive.dto.DeveloperChangeEventDto;
 import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
+import com.fallt.qafordevs_reactive.entity.DeveloperListValidatorEntity;
+import com.fallt.qafordevs_reactive.entity.DeveloperStatsEntity;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 public interface DeveloperService {
 
     Mono<DeveloperEntity> createDeveloper(DeveloperEntity entity);
 
+    Flux<Optional<DeveloperEntity>> createDevelopers(Flux<DeveloperEntity> entities);
+
     Mono<DeveloperEntity> updateDeveloper(DeveloperEntity entity);
 
+    Mono<DeveloperEntity> patchDeveloper(Integer id, DeveloperEntity changes);
+
+    Flux<DeveloperEntity> getDevelopersPage(Integer afterId, int size);
+
     Flux<DeveloperEntity> getAllDevelopers();
 
-    Flux<DeveloperEntity> getAllActiveBySpecialty(String specialty);
+    Flux<DeveloperEntity> getAllActiveBySpecialty(String specialty, Collection<String> fields);
+
+    Mono<DeveloperListValidatorEntity> getActiveBySpecialtyValidator(String specialty, Collection<String> fields);
+
+    Flux<DeveloperEntity> searchDevelopers(String query, int limit);
+
+    Flux<DeveloperStatsEntity> getStats();
 
     Mono<DeveloperEntity> getById(Integer id);
 
+    Flux<DeveloperEntity> getByIds(List<Integer> ids);
+
     Mono<Void> softDeleteById(Integer id);
 
     Mono<Void> hardDeleteById(Integer id);
+
+    Flux<DeveloperChangeEventDto> getChanges(Long since);
 }
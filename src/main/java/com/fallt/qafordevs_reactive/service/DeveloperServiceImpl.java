@@ -1,78 +1,173 @@
 package com.fallt.qafordevs_reactive.service;
 
+import com.fallt.qafordevs_reactive.config.ConnectionRouting;
+import com.fallt.qafordevs_reactive.config.DeveloperProperties;
+import com.fallt.qafordevs_reactive.dto.DeveloperChangeEventDto;
+import com.fallt.qafordevs_reactive.entity.ChangeType;
 import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
+import com.fallt.qafordevs_reactive.entity.DeveloperListValidatorEntity;
+import com.fallt.qafordevs_reactive.entity.DeveloperStatsEntity;
 import com.fallt.qafordevs_reactive.entity.Status;
-import com.fallt.qafordevs_reactive.exception.DeveloperNotFoundException;
 import com.fallt.qafordevs_reactive.exception.DeveloperWithEmailAlreadyExistsException;
 import com.fallt.qafordevs_reactive.repository.DeveloperRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static com.fallt.qafordevs_reactive.service.DeveloperServiceSupport.containsPattern;
+import static com.fallt.qafordevs_reactive.service.DeveloperServiceSupport.normalizeSearchQuery;
+import static com.fallt.qafordevs_reactive.service.DeveloperServiceSupport.requireSelectable;
 
 @Service
 @RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "developers", name = "backend", havingValue = "r2dbc", matchIfMissing = true)
 public class DeveloperServiceImpl implements DeveloperService {
 
     private final DeveloperRepository developerRepository;
 
-    private Mono<Void> checkIfExistsByEmail(String email) {
-        return developerRepository.findByEmail(email).flatMap(developer -> {
-            if (Objects.nonNull(developer)) {
-                return Mono.error(new DeveloperWithEmailAlreadyExistsException("Developer with defined email already exists", "DEVELOPER_DUPLICATE_EMAIL"));
-            }
-            return Mono.empty();
-        });
-    }
+    private final DeveloperProperties developerProperties;
+
+    private final DeveloperLookupCache developerCache;
+
+    private final DeveloperChangePublisher changePublisher;
+
+    private final DeveloperBatchLoader batchLoader;
+
+    // Outbox rows are written in the transaction of the change they describe
+    private final DeveloperOutbox developerOutbox;
+
+    private final TransactionalOperator transactionalOperator;
 
     @Override
     public Mono<DeveloperEntity> createDeveloper(DeveloperEntity developer) {
-        return checkIfExistsByEmail(developer.getEmail())
-                .then(Mono.defer(() -> {
+        return Mono.defer(() -> {
                     developer.setStatus(Status.ACTIVE);
-                    return developerRepository.save(developer);
-                }));
+                    return developerRepository.insertIfEmailAbsent(developer);
+                })
+                .flatMap(created -> developerOutbox.append(ChangeType.CREATED, created.getId(), created).thenReturn(created))
+                .as(transactionalOperator::transactional)
+                .switchIfEmpty(Mono.error(new DeveloperWithEmailAlreadyExistsException("Developer with defined email already exists", "DEVELOPER_DUPLICATE_EMAIL")));
+    }
+
+    @Override
+    public Flux<Optional<DeveloperEntity>> createDevelopers(Flux<DeveloperEntity> developers) {
+        return developers
+                .doOnNext(developer -> developer.setStatus(Status.ACTIVE))
+                .buffer(developerProperties.getBatch().getChunkSize())
+                .concatMap(chunk -> developerRepository.insertAllIfEmailAbsent(chunk)
+                        .collectList()
+                        .flatMap(results -> developerOutbox.appendAll(ChangeType.CREATED, results.stream().flatMap(Optional::stream).toList())
+                                .thenReturn(results))
+                        .as(transactionalOperator::transactional)
+                        .flatMapIterable(Function.identity()));
     }
 
     @Override
     public Mono<DeveloperEntity> updateDeveloper(DeveloperEntity developer) {
-        return developerRepository.findById(developer.getId())
-                .switchIfEmpty(Mono.error(new DeveloperNotFoundException("Developer not found", "DEVELOPER_NOT_FOUND")))
-                .flatMap(d -> developerRepository.save(developer));
+        return DeveloperServiceSupport.update(developer, developerRepository.update(developer)
+                        .flatMap(updated -> developerOutbox.append(ChangeType.UPDATED, updated.getId(), updated).thenReturn(updated))
+                        .as(transactionalOperator::transactional),
+                developerRepository::existsById, developerCache);
+    }
+
+    @Override
+    public Mono<DeveloperEntity> patchDeveloper(Integer id, DeveloperEntity changes) {
+        return DeveloperServiceSupport.patch(id, changes, this::getById, developerRepository::findById,
+                (developerId, version, columns) -> developerRepository.updateColumns(developerId, version, columns)
+                        .flatMap(updated -> developerOutbox.append(ChangeType.UPDATED, developerId, updated).thenReturn(updated))
+                        .as(transactionalOperator::transactional),
+                developerProperties.getPatch().getMaxRetries(), developerCache);
+    }
+
+    @Override
+    public Flux<DeveloperEntity> getDevelopersPage(Integer afterId, int size) {
+        return developerRepository.findPageAfterId(Objects.requireNonNullElse(afterId, 0), size)
+                .contextWrite(ConnectionRouting::readOnly);
     }
 
     @Override
     public Flux<DeveloperEntity> getAllDevelopers() {
-        return developerRepository.findAll();
+        int chunkSize = developerProperties.getPagination().getStreamChunkSize();
+        return getDevelopersPage(null, chunkSize)
+                .collectList()
+                .expand(page -> page.size() < chunkSize
+                        ? Mono.empty()
+                        : getDevelopersPage(page.get(page.size() - 1).getId(), chunkSize).collectList())
+                .flatMapIterable(Function.identity(), 1);
     }
 
     @Override
-    public Flux<DeveloperEntity> getAllActiveBySpecialty(String specialty) {
-        return developerRepository.findAllActiveBySpecialty(specialty);
+    public Flux<DeveloperEntity> getAllActiveBySpecialty(String specialty, Collection<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return developerRepository.findAllActiveBySpecialty(specialty)
+                    .contextWrite(ConnectionRouting::readOnly);
+        }
+        return requireSelectable(fields)
+                .thenMany(developerRepository.selectActiveBySpecialty(specialty, fields))
+                .contextWrite(ConnectionRouting::readOnly);
+    }
+
+    @Override
+    public Mono<DeveloperListValidatorEntity> getActiveBySpecialtyValidator(String specialty, Collection<String> fields) {
+        // Fields are checked here as well so an invalid request fails before the response is committed
+        return requireSelectable(fields)
+                .then(developerRepository.findActiveBySpecialtyValidator(specialty))
+                .contextWrite(ConnectionRouting::readOnly);
+    }
+
+    @Override
+    public Flux<DeveloperEntity> searchDevelopers(String query, int limit) {
+        return Flux.defer(() -> {
+                    String normalized = normalizeSearchQuery(query, developerProperties.getSearch().getMinLength());
+                    return developerRepository.search(normalized, containsPattern(normalized), limit);
+                })
+                .contextWrite(ConnectionRouting::readOnly);
+    }
+
+    @Override
+    public Flux<DeveloperStatsEntity> getStats() {
+        return developerRepository.findStats()
+                .contextWrite(ConnectionRouting::readOnly);
     }
 
     @Override
     public Mono<DeveloperEntity> getById(Integer id) {
-        return developerRepository.findById(id)
-                .switchIfEmpty(Mono.error(new DeveloperNotFoundException("Developer not found", "DEVELOPER_NOT_FOUND")));
+        // Cache fills stay on the primary: invalidations come from the primary, and a lagging replica could re-cache a stale row
+        return developerCache.get(id, batchLoader::load)
+                .switchIfEmpty(Mono.error(DeveloperServiceSupport::notFound));
+    }
+
+    @Override
+    public Flux<DeveloperEntity> getByIds(List<Integer> ids) {
+        return DeveloperServiceSupport.getByIds(ids, developerProperties.getPagination().getMaxSize(), developerCache,
+                keys -> developerRepository.findAllByIdIn(keys.toArray(Integer[]::new)));
     }
 
     @Override
     public Mono<Void> softDeleteById(Integer id) {
-        return developerRepository.findById(id)
-                .switchIfEmpty(Mono.error(new DeveloperNotFoundException("Developer not found", "DEVELOPER_NOT_FOUND")))
-                .flatMap(d -> {
-                    d.setStatus(Status.DELETED);
-                    return developerRepository.save(d).then();
-                });
+        return DeveloperServiceSupport.delete(id, developerRepository.softDeleteById(id)
+                .flatMap(rows -> rows == 0 ? Mono.just(rows) : developerOutbox.append(ChangeType.SOFT_DELETED, id, null).thenReturn(rows))
+                .as(transactionalOperator::transactional), developerCache);
     }
 
     @Override
     public Mono<Void> hardDeleteById(Integer id) {
-        return developerRepository.findById(id)
-                .switchIfEmpty(Mono.error(new DeveloperNotFoundException("Developer not found", "DEVELOPER_NOT_FOUND")))
-                .flatMap(d -> developerRepository.deleteById(id).then());
+        return DeveloperServiceSupport.delete(id, developerRepository.hardDeleteById(id)
+                .flatMap(rows -> rows == 0 ? Mono.just(rows) : developerOutbox.append(ChangeType.HARD_DELETED, id, null).thenReturn(rows))
+                .as(transactionalOperator::transactional), developerCache);
+    }
+
+    @Override
+    public Flux<DeveloperChangeEventDto> getChanges(Long since) {
+        return changePublisher.subscribe(since);
     }
 }
@@ -0,0 +1,218 @@
+package com.fallt.qafordevs_reactive.service;
+
+import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
+import com.fallt.qafordevs_reactive.exception.DeveloperNotFoundException;
+import com.fallt.qafordevs_reactive.exception.DeveloperVersionConflictException;
+import com.fallt.qafordevs_reactive.exception.DeveloperWithEmailAlreadyExistsException;
+import com.fallt.qafordevs_reactive.exception.InvalidRequestParameterException;
+import com.fallt.qafordevs_reactive.repository.DeveloperRepositoryCustom;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+// Rules shared by the R2DBC and JDBC implementations of DeveloperService
+final class DeveloperServiceSupport {
+
+    private static final String EMAIL_UNIQUE_INDEX = "developers_email_lower_uindex";
+
+    private DeveloperServiceSupport() {
+    }
+
+    /**
+     * Writes the changed columns of a developer if the row still has the given version.
+     */
+    @FunctionalInterface
+    interface ColumnsWriter {
+
+        /**
+         * @return the row as written, or empty when the version has moved on
+         */
+        Mono<DeveloperEntity> write(Integer id, Long version, Map<String, Object> columns);
+    }
+
+    static DeveloperNotFoundException notFound() {
+        return new DeveloperNotFoundException("Developer not found", "DEVELOPER_NOT_FOUND");
+    }
+
+    static DeveloperVersionConflictException versionConflict() {
+        return new DeveloperVersionConflictException("Developer was modified concurrently", "DEVELOPER_VERSION_CONFLICT");
+    }
+
+    static void evict(DeveloperLookupCache cache, Integer id) {
+        if (id != null) {
+            cache.invalidate(id);
+        }
+    }
+
+    /**
+     * Completes a full update: the written row, or why nothing was written. The cached copy is dropped
+     * whatever the outcome.
+     *
+     * @param written the update and its outbox event, empty when no row with the id and version exists
+     * @param exists  whether a developer with the given id exists
+     */
+    static Mono<DeveloperEntity> update(DeveloperEntity developer, Mono<DeveloperEntity> written,
+                                        Function<Integer, Mono<Boolean>> exists, DeveloperLookupCache cache) {
+        return written
+                .onErrorMap(DeveloperServiceSupport::isDuplicateEmail, DeveloperServiceSupport::duplicateEmail)
+                .switchIfEmpty(Mono.defer(() -> {
+                    if (developer.getVersion() == null || developer.getId() == null) {
+                        return Mono.error(notFound());
+                    }
+                    return exists.apply(developer.getId())
+                            .flatMap(found -> Mono.error(found ? versionConflict() : notFound()));
+                }))
+                .doOnTerminate(() -> evict(cache, developer.getId()));
+    }
+
+    /**
+     * Applies a partial update under optimistic locking. With a version from the client the patch is
+     * checked against the stored row, as a cached copy may lag behind another node, and a conflict is
+     * reported. Without one it starts from the cached row and is re-applied to the fresh row after a
+     * lost update, up to the given number of retries.
+     *
+     * @param cached looks the developer up through the cache
+     * @param stored reads the developer from the database, empty when there is none
+     */
+    static Mono<DeveloperEntity> patch(Integer id, DeveloperEntity changes, Function<Integer, Mono<DeveloperEntity>> cached,
+                                       Function<Integer, Mono<DeveloperEntity>> stored, ColumnsWriter writer,
+                                       int maxRetries, DeveloperLookupCache cache) {
+        Long expectedVersion = changes.getVersion();
+        Mono<DeveloperEntity> currentDeveloper = expectedVersion == null
+                ? cached.apply(id)
+                : stored.apply(id).switchIfEmpty(Mono.error(DeveloperServiceSupport::notFound));
+        return currentDeveloper
+                .flatMap(current -> {
+                    if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                        return Mono.error(versionConflict());
+                    }
+                    Map<String, Object> changedColumns = changedColumns(current, merge(current, changes));
+                    if (changedColumns.isEmpty()) {
+                        return Mono.just(current);
+                    }
+                    // The response is the returned row, so updated_at and version are the ones just written
+                    return writer.write(id, current.getVersion(), changedColumns)
+                            .onErrorMap(DeveloperServiceSupport::isDuplicateEmail, DeveloperServiceSupport::duplicateEmail)
+                            .switchIfEmpty(Mono.defer(() -> {
+                                evict(cache, id);
+                                return Mono.error(versionConflict());
+                            }));
+                })
+                .retryWhen(Retry.max(expectedVersion == null ? maxRetries : 0)
+                        .filter(DeveloperVersionConflictException.class::isInstance))
+                .doOnTerminate(() -> evict(cache, id));
+    }
+
+    /**
+     * Completes a delete that affected the given number of rows; the outbox event is only written
+     * for an affected row.
+     */
+    static Mono<Void> delete(Integer id, Mono<? extends Number> affectedRows, DeveloperLookupCache cache) {
+        return affectedRows
+                .flatMap(rows -> rows.longValue() == 0 ? Mono.<Void>error(notFound()) : Mono.<Void>empty())
+                .doOnTerminate(() -> evict(cache, id));
+    }
+
+    /**
+     * Looks developers up through the cache and returns them in the requested order, skipping unknown ids.
+     */
+    static Flux<DeveloperEntity> getByIds(List<Integer> ids, int maxSize, DeveloperLookupCache cache,
+                                          Function<Set<Integer>, Flux<DeveloperEntity>> loader) {
+        if (ids.size() > maxSize) {
+            return Flux.error(new InvalidRequestParameterException("At most " + maxSize + " ids can be requested at once", "INVALID_REQUEST_PARAMETER"));
+        }
+        return cache.getAll(ids, keys -> loader.apply(keys).collectMap(DeveloperEntity::getId))
+                .flatMapIterable(developers -> ids.stream()
+                        .distinct()
+                        .map(developers::get)
+                        .filter(Objects::nonNull)
+                        .toList());
+    }
+
+    static DeveloperEntity merge(DeveloperEntity current, DeveloperEntity changes) {
+        return DeveloperEntity.builder()
+                .id(current.getId())
+                .firstName(coalesce(changes.getFirstName(), current.getFirstName()))
+                .lastName(coalesce(changes.getLastName(), current.getLastName()))
+                .email(coalesce(changes.getEmail(), current.getEmail()))
+                .specialty(coalesce(changes.getSpecialty(), current.getSpecialty()))
+                .status(coalesce(changes.getStatus(), current.getStatus()))
+                .version(current.getVersion())
+                .build();
+    }
+
+    private static <T> T coalesce(T value, T fallback) {
+        return value != null ? value : fallback;
+    }
+
+    static Map<String, Object> changedColumns(DeveloperEntity current, DeveloperEntity patched) {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        if (!Objects.equals(current.getFirstName(), patched.getFirstName())) {
+            columns.put("firstName", patched.getFirstName());
+        }
+        if (!Objects.equals(current.getLastName(), patched.getLastName())) {
+            columns.put("lastName", patched.getLastName());
+        }
+        if (!Objects.equals(current.getEmail(), patched.getEmail())) {
+            columns.put("email", patched.getEmail());
+        }
+        if (!Objects.equals(current.getSpecialty(), patched.getSpecialty())) {
+            columns.put("specialty", patched.getSpecialty());
+        }
+        if (current.getStatus() != patched.getStatus()) {
+            columns.put("status", patched.getStatus().name());
+        }
+        return columns;
+    }
+
+    static Mono<Void> requireSelectable(Collection<String> fields) {
+        if (fields != null) {
+            for (String field : fields) {
+                if (!DeveloperRepositoryCustom.SELECTABLE_FIELDS.contains(field)) {
+                    return Mono.error(new InvalidRequestParameterException("Unknown field: " + field, "INVALID_REQUEST_PARAMETER"));
+                }
+            }
+        }
+        return Mono.empty();
+    }
+
+    static String normalizeSearchQuery(String query, int minLength) {
+        String normalized = query == null ? "" : query.strip().toLowerCase(Locale.ROOT);
+        if (normalized.length() < minLength) {
+            throw new InvalidRequestParameterException(
+                    "Search query must have at least " + minLength + " characters", "INVALID_REQUEST_PARAMETER");
+        }
+        return normalized;
+    }
+
+    static String containsPattern(String value) {
+        return "%" + value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+
+    /**
+     * Whether an update failed on the case-insensitive email index, under either driver's exception type.
+     */
+    static boolean isDuplicateEmail(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains(EMAIL_UNIQUE_INDEX)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static DeveloperWithEmailAlreadyExistsException duplicateEmail(Throwable error) {
+        return new DeveloperWithEmailAlreadyExistsException("Developer with defined email already exists", "DEVELOPER_DUPLICATE_EMAIL");
+    }
+}
@@ -0,0 +1,55 @@
+package com.fallt.qafordevs_reactive.service;
+
+import com.fallt.qafordevs_reactive.config.DeveloperProperties;
+import com.fallt.qafordevs_reactive.dto.DeveloperOutboxEventDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * POSTs each batch as a JSON array to {@code developers.outbox.http-url}. A 4xx response other than
+ * 408 and 429 rejects the batch; any other failure is retried as the endpoint being unavailable.
+ */
+@Component
+@ConditionalOnProperty(prefix = "developers.outbox", name = "publisher", havingValue = "http")
+public class HttpOutboxEventPublisher implements OutboxEventPublisher {
+
+    private final WebClient webClient;
+
+    private final Duration timeout;
+
+    public HttpOutboxEventPublisher(WebClient.Builder webClientBuilder, DeveloperProperties developerProperties) {
+        DeveloperProperties.Outbox properties = developerProperties.getOutbox();
+        if (properties.getHttpUrl() == null) {
+            throw new IllegalStateException("developers.outbox.http-url must be set for the http publisher");
+        }
+        this.webClient = webClientBuilder.baseUrl(properties.getHttpUrl()).build();
+        this.timeout = properties.getHttpTimeout();
+    }
+
+    @Override
+    public Mono<Void> publish(List<DeveloperOutboxEventDto> events) {
+        return webClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(events)
+                .retrieve()
+                .onStatus(HttpOutboxEventPublisher::isRejection, response -> response.releaseBody()
+                        .thenReturn(new OutboxEventsRejectedException("Developer events rejected with " + response.statusCode())))
+                .toBodilessEntity()
+                .timeout(timeout)
+                .then();
+    }
+
+    private static boolean isRejection(HttpStatusCode status) {
+        return status.is4xxClientError()
+                && status.value() != HttpStatus.REQUEST_TIMEOUT.value()
+                && status.value() != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+}
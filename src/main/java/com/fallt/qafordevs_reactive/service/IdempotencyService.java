@@ -0,0 +1,176 @@
+package com.fallt.qafordevs_reactive.service;
+
+import com.fallt.qafordevs_reactive.config.DeveloperProperties;
+import com.fallt.qafordevs_reactive.exception.IdempotencyKeyReusedException;
+import com.fallt.qafordevs_reactive.exception.IdempotentRequestInProgressException;
+import com.fallt.qafordevs_reactive.exception.InvalidRequestParameterException;
+import com.fallt.qafordevs_reactive.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Executes a write at most once per Idempotency-Key and operation. Completed responses
+ * are kept in the idempotency_keys table and in a hot in-memory map; concurrent
+ * duplicates on this instance share one execution, while a duplicate arriving on another
+ * instance during execution is rejected as in progress.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final DeveloperProperties.Idempotency properties;
+
+    private final Cache<String, StoredResponse> responses;
+
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    private Disposable cleanup;
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository, ObjectMapper objectMapper,
+                              DeveloperProperties developerProperties) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.properties = developerProperties.getIdempotency();
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.getHotCacheSize())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+
+    public <T> Mono<T> execute(String key, String operation, Object request, Class<T> responseType, Supplier<Mono<T>> action) {
+        return Mono.defer(() -> {
+            if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+                return Mono.error(new InvalidRequestParameterException("Invalid Idempotency-Key header", "INVALID_REQUEST_PARAMETER"));
+            }
+            String requestHash = hash(request);
+            String scopedKey = operation + ":" + key;
+            StoredResponse stored = responses.getIfPresent(scopedKey);
+            if (stored != null) {
+                return requireSameRequest(stored.requestHash(), requestHash)
+                        .then(Mono.fromCallable(() -> read(stored.body(), responseType)));
+            }
+            InFlight execution = inFlight.computeIfAbsent(scopedKey, k -> new InFlight(requestHash,
+                    claimAndRun(key, operation, requestHash, action)
+                            .doOnNext(body -> responses.put(k, new StoredResponse(requestHash, body)))
+                            .doFinally(signal -> inFlight.remove(k))
+                            .cache()));
+            return requireSameRequest(execution.requestHash(), requestHash)
+                    .then(execution.body())
+                    .map(body -> read(body, responseType));
+        });
+    }
+
+    private <T> Mono<String> claimAndRun(String key, String operation, String requestHash, Supplier<Mono<T>> action) {
+        return idempotencyKeyRepository.tryClaim(key, operation, requestHash, properties.getTtl(), properties.getInProgressTimeout())
+                .flatMap(claimed -> claimed
+                        ? run(key, operation, action)
+                        : replay(key, operation, requestHash));
+    }
+
+    private <T> Mono<String> run(String key, String operation, Supplier<Mono<T>> action) {
+        return action.get()
+                // A failed attempt leaves nothing behind, so the client may retry with the same key
+                .onErrorResume(e -> idempotencyKeyRepository.release(key, operation).then(Mono.error(e)))
+                .switchIfEmpty(idempotencyKeyRepository.release(key, operation).then(Mono.empty()))
+                .map(this::write)
+                // Once the write happened the claim is never released: if the response cannot be stored, this
+                // instance still replays it from memory and other instances answer in progress until the lease ends
+                .flatMap(body -> idempotencyKeyRepository.complete(key, operation, body)
+                        .onErrorResume(e -> {
+                            log.warn("Failed to store the response for idempotency key {} of {}", key, operation, e);
+                            return Mono.empty();
+                        })
+                        .thenReturn(body));
+    }
+
+    private Mono<String> replay(String key, String operation, String requestHash) {
+        return idempotencyKeyRepository.find(key, operation)
+                .switchIfEmpty(Mono.error(inProgress()))
+                .flatMap(existing -> requireSameRequest(existing.getRequestHash(), requestHash)
+                        .then(existing.getResponseBody() == null
+                                ? Mono.error(inProgress())
+                                : Mono.just(existing.getResponseBody())));
+    }
+
+    private static Mono<Void> requireSameRequest(String expectedHash, String requestHash) {
+        return expectedHash.equals(requestHash)
+                ? Mono.empty()
+                : Mono.error(new IdempotencyKeyReusedException("Idempotency-Key was already used for a different request", "IDEMPOTENCY_KEY_REUSED"));
+    }
+
+    private static IdempotentRequestInProgressException inProgress() {
+        return new IdempotentRequestInProgressException("A request with this Idempotency-Key is still in progress", "IDEMPOTENCY_REQUEST_IN_PROGRESS");
+    }
+
+    private String hash(Object request) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to fingerprint request", e);
+        }
+    }
+
+    private String write(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to store idempotent response", e);
+        }
+    }
+
+    private <T> T read(String body, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read idempotent response", e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startCleanup() {
+        cleanup = Flux.interval(properties.getCleanupInterval())
+                .concatMap(tick -> idempotencyKeyRepository.deleteExpired()
+                        .doOnNext(deleted -> log.debug("Deleted {} expired idempotency keys", deleted))
+                        .onErrorResume(e -> {
+                            log.warn("Failed to delete expired idempotency keys", e);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (cleanup != null) {
+            cleanup.dispose();
+        }
+    }
+
+    private record StoredResponse(String requestHash, String body) {
+    }
+
+    private record InFlight(String requestHash, Mono<String> body) {
+    }
+}
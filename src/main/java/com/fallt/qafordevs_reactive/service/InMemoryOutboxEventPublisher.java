@@ -0,0 +1,50 @@
+package com.fallt.qafordevs_reactive.service;
+
+import com.fallt.qafordevs_reactive.config.DeveloperProperties;
+import com.fallt.qafordevs_reactive.dto.DeveloperOutboxEventDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Local stand-in for a broker: logs relayed events and keeps the most recent ones in memory.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "developers.outbox", name = "publisher", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryOutboxEventPublisher implements OutboxEventPublisher {
+
+    private final int capacity;
+
+    private final Deque<DeveloperOutboxEventDto> published = new ArrayDeque<>();
+
+    public InMemoryOutboxEventPublisher(DeveloperProperties developerProperties) {
+        this.capacity = developerProperties.getOutbox().getInMemoryCapacity();
+    }
+
+    @Override
+    public Mono<Void> publish(List<DeveloperOutboxEventDto> events) {
+        return Mono.fromRunnable(() -> {
+            synchronized (published) {
+                for (DeveloperOutboxEventDto event : events) {
+                    if (published.size() == capacity) {
+                        published.removeFirst();
+                    }
+                    published.addLast(event);
+                }
+            }
+            log.debug("Published {} developer events", events.size());
+        });
+    }
+
+    public List<DeveloperOutboxEventDto> getPublished() {
+        synchronized (published) {
+            return List.copyOf(published);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.fallt.qafordevs_reactive.service;
+
+import com.fallt.qafordevs_reactive.config.DeveloperProperties;
+import com.fallt.qafordevs_reactive.dto.DeveloperChangeEventDto;
+import com.fallt.qafordevs_reactive.entity.ChangeType;
+import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
+import com.fallt.qafordevs_reactive.entity.DeveloperListValidatorEntity;
+import com.fallt.qafordevs_reactive.entity.DeveloperStatsEntity;
+import com.fallt.qafordevs_reactive.entity.Status;
+import com.fallt.qafordevs_reactive.exception.DeveloperWithEmailAlreadyExistsException;
+import com.fallt.qafordevs_reactive.repository.JdbcDeveloperRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.fallt.qafordevs_reactive.service.DeveloperServiceSupport.containsPattern;
+import static com.fallt.qafordevs_reactive.service.DeveloperServiceSupport.normalizeSearchQuery;
+import static com.fallt.qafordevs_reactive.service.DeveloperServiceSupport.requireSelectable;
+
+/**
+ * Serves developers from blocking JDBC calls, each run on its own virtual thread.
+ * Enabled with {@code developers.backend=jdbc}; read replicas are not used by this backend.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "developers", name = "backend", havingValue = "jdbc")
+public class JdbcDeveloperServiceImpl implements DeveloperService {
+
+    private final JdbcDeveloperRepository developerRepository;
+
+    private final DeveloperProperties developerProperties;
+
+    private final DeveloperLookupCache developerCache;
+
+    private final DeveloperChangePublisher changePublisher;
+
+    private final Scheduler jdbcScheduler;
+
+    // Outbox rows are written in the transaction of the change they describe
+    private final DeveloperOutbox developerOutbox;
+
+    private final TransactionTemplate jdbcTransactionTemplate;
+
+    private <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(jdbcScheduler);
+    }
+
+    private <T> Mono<T> blockingOptional(Callable<Optional<T>> call) {
+        return blocking(call).flatMap(Mono::justOrEmpty);
+    }
+
+    private <T> Mono<T> blockingInTransaction(Supplier<T> action) {
+        return blocking(() -> jdbcTransactionTemplate.execute(status -> action.get()));
+    }
+
+    private void appendOutbox(ChangeType type, Integer id, DeveloperEntity developer) {
+        developerRepository.appendOutbox(List.of(developerOutbox.event(type, id, developer)));
+    }
+
+    private <T> Flux<T> blockingMany(Callable<List<T>> call) {
+        return blocking(call).flatMapIterable(Function.identity());
+    }
+
+    @Override
+    public Mono<DeveloperEntity> createDeveloper(DeveloperEntity developer) {
+        return blockingInTransaction(() -> {
+                    developer.setStatus(Status.ACTIVE);
+                    Optional<DeveloperEntity> created = developerRepository.insertIfEmailAbsent(developer);
+                    created.ifPresent(inserted -> appendOutbox(ChangeType.CREATED, inserted.getId(), inserted));
+                    return created;
+                })
+                .flatMap(Mono::justOrEmpty)
+                .switchIfEmpty(Mono.error(new DeveloperWithEmailAlreadyExistsException("Developer with defined email already exists", "DEVELOPER_DUPLICATE_EMAIL")));
+    }
+
+    @Override
+    public Flux<Optional<DeveloperEntity>> createDevelopers(Flux<DeveloperEntity> developers) {
+        return developers
+                .doOnNext(developer -> developer.setStatus(Status.ACTIVE))
+                .buffer(developerProperties.getBatch().getChunkSize())
+                .concatMap(chunk -> blockingInTransaction(() -> {
+                            List<Optional<DeveloperEntity>> results = developerRepository.insertAllIfEmailAbsent(chunk);
+                            developerRepository.appendOutbox(results.stream()
+                                    .flatMap(Optional::stream)
+                                    .map(created -> developerOutbox.event(ChangeType.CREATED, created.getId(), created))
+                                    .toList());
+                            return results;
+                        })
+                        .flatMapIterable(Function.identity()));
+    }
+
+    @Override
+    public Mono<DeveloperEntity> updateDeveloper(DeveloperEntity developer) {
+        return DeveloperServiceSupport.update(developer, blockingInTransaction(() -> {
+                            Optional<DeveloperEntity> updated = developerRepository.update(developer);
+                            updated.ifPresent(row -> appendOutbox(ChangeType.UPDATED, row.getId(), row));
+                            return updated;
+                        })
+                        .flatMap(Mono::justOrEmpty),
+                id -> blocking(() -> developerRepository.existsById(id)), developerCache);
+    }
+
+    @Override
+    public Mono<DeveloperEntity> patchDeveloper(Integer id, DeveloperEntity changes) {
+        return DeveloperServiceSupport.patch(id, changes, this::getById, key -> blockingOptional(() -> developerRepository.findById(key)),
+                (developerId, version, columns) -> blockingInTransaction(() -> {
+                            Optional<DeveloperEntity> updated = developerRepository.updateColumns(developerId, version, columns);
+                            updated.ifPresent(row -> appendOutbox(ChangeType.UPDATED, developerId, row));
+                            return updated;
+                        })
+                        .flatMap(Mono::justOrEmpty),
+                developerProperties.getPatch().getMaxRetries(), developerCache);
+    }
+
+    @Override
+    public Flux<DeveloperEntity> getDevelopersPage(Integer afterId, int size) {
+        return blockingMany(() -> developerRepository.findPageAfterId(Objects.requireNonNullElse(afterId, 0), size));
+    }
+
+    @Override
+    public Flux<DeveloperEntity> getAllDevelopers() {
+        int chunkSize = developerProperties.getPagination().getStreamChunkSize();
+        return blocking(() -> developerRepository.findPageAfterId(0, chunkSize))
+                .expand(page -> page.size() < chunkSize
+                        ? Mono.empty()
+                        : blocking(() -> developerRepository.findPageAfterId(page.get(page.size() - 1).getId(), chunkSize)))
+                .flatMapIterable(Function.identity(), 1);
+    }
+
+    @Override
+    public Flux<DeveloperEntity> getAllActiveBySpecialty(String specialty, Collection<String> fields) {
+        return requireSelectable(fields)
+                .thenMany(blockingMany(() -> developerRepository.findAllActiveBySpecialty(specialty, fields)));
+    }
+
+    @Override
+    public Mono<DeveloperListValidatorEntity> getActiveBySpecialtyValidator(String specialty, Collection<String> fields) {
+        // Fields are checked here as well so an invalid request fails before the response is committed
+        return requireSelectable(fields)
+                .then(blocking(() -> developerRepository.findActiveBySpecialtyValidator(specialty)));
+    }
+
+    @Override
+    public Flux<DeveloperEntity> searchDevelopers(String query, int limit) {
+        return Flux.defer(() -> {
+            String normalized = normalizeSearchQuery(query, developerProperties.getSearch().getMinLength());
+            return blockingMany(() -> developerRepository.search(normalized, containsPattern(normalized), limit));
+        });
+    }
+
+    @Override
+    public Flux<DeveloperStatsEntity> getStats() {
+        return blockingMany(developerRepository::findStats);
+    }
+
+    @Override
+    public Mono<DeveloperEntity> getById(Integer id) {
+        // Lookups are not batched: a virtual thread per miss is cheap, the pool bounds the concurrent queries
+        return developerCache.get(id, key -> blockingOptional(() -> developerRepository.findById(key)))
+                .switchIfEmpty(Mono.error(DeveloperServiceSupport::notFound));
+    }
+
+    @Override
+    public Flux<DeveloperEntity> getByIds(List<Integer> ids) {
+        return DeveloperServiceSupport.getByIds(ids, developerProperties.getPagination().getMaxSize(), developerCache,
+                keys -> blockingMany(() -> developerRepository.findAllByIdIn(keys)));
+    }
+
+    @Override
+    public Mono<Void> softDeleteById(Integer id) {
+        return DeveloperServiceSupport.delete(id, blockingInTransaction(() -> {
+            int rows = developerRepository.softDeleteById(id);
+            if (rows > 0) {
+                appendOutbox(ChangeType.SOFT_DELETED, id, null);
+            }
+            return rows;
+        }), developerCache);
+    }
+
+    @Override
+    public Mono<Void> hardDeleteById(Integer id) {
+        return DeveloperServiceSupport.delete(id, blockingInTransaction(() -> {
+            int rows = developerRepository.hardDeleteById(id);
+            if (rows > 0) {
+                appendOutbox(ChangeType.HARD_DELETED, id, null);
+            }
+            return rows;
+        }), developerCache);
+    }
+
+    @Override
+    public Flux<DeveloperChangeEventDto> getChanges(Long since) {
+        return changePublisher.subscribe(since);
+    }
+}
@@ -0,0 +1,17 @@
+package com.fallt.qafordevs_reactive.service;
+
+import com.fallt.qafordevs_reactive.dto.DeveloperOutboxEventDto;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Delivers relayed outbox events downstream. Completing means the whole batch was accepted;
+ * an error leaves the batch in the outbox to be retried, so delivery is at least once. Refused
+ * events are reported with {@link OutboxEventsRejectedException}; any other error is taken as
+ * the downstream being unavailable.
+ */
+public interface OutboxEventPublisher {
+
+    Mono<Void> publish(List<DeveloperOutboxEventDto> events);
+}
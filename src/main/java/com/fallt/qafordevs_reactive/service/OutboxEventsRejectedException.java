@@ -0,0 +1,26 @@
+package com.fallt.qafordevs_reactive.service;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Raised by an {@link OutboxEventPublisher} when the downstream answered and refused events, as opposed
+ * to being unreachable. Only a rejection counts towards an event's attempts.
+ */
+@Getter
+public class OutboxEventsRejectedException extends RuntimeException {
+
+    // Outbox ids of the refused events, the rest of the batch was accepted; empty when the downstream did not say
+    private final Set<Long> rejectedIds;
+
+    public OutboxEventsRejectedException(String message) {
+        this(message, Set.of());
+    }
+
+    public OutboxEventsRejectedException(String message, Collection<Long> rejectedIds) {
+        super(message);
+        this.rejectedIds = Set.copyOf(rejectedIds);
+    }
+}
@@ -0,0 +1,38 @@
+package com.fallt.qafordevs_reactive.util;
+
+import com.fallt.qafordevs_reactive.exception.InvalidRequestParameterException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public final class CursorUtils {
+
+    private static final String ID_PREFIX = "id:";
+
+    private CursorUtils() {
+    }
+
+    public static String encode(Integer id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((ID_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Integer decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(ID_PREFIX)) {
+                throw invalidCursor();
+            }
+            return Integer.valueOf(decoded.substring(ID_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor();
+        }
+    }
+
+    private static InvalidRequestParameterException invalidCursor() {
+        return new InvalidRequestParameterException("Invalid cursor", "INVALID_REQUEST_PARAMETER");
+    }
+}
@@ -0,0 +1,39 @@
+package com.fallt.qafordevs_reactive.util;
+
+import com.fallt.qafordevs_reactive.exception.InvalidRequestParameterException;
+
+public final class ETagUtils {
+
+    private static final String ANY = "*";
+
+    private ETagUtils() {
+    }
+
+    public static String fromVersion(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    public static String fromAggregate(long count, long revision, String variant) {
+        String tag = count + "-" + revision;
+        return "\"" + (variant == null || variant.isEmpty() ? tag : tag + "-" + Integer.toHexString(variant.hashCode())) + "\"";
+    }
+
+    public static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            throw invalidIfMatch();
+        }
+        try {
+            return Long.valueOf(value.substring(1, value.length() - 1));
+        } catch (NumberFormatException e) {
+            throw invalidIfMatch();
+        }
+    }
+
+    private static InvalidRequestParameterException invalidIfMatch() {
+        return new InvalidRequestParameterException("Invalid If-Match header", "INVALID_REQUEST_PARAMETER");
+    }
+}
@@ -0,0 +1,72 @@
+-- now() is the transaction start, so a long transaction could stamp a row with a time
+-- older than rows that were already served; clock_timestamp() is taken at the write.
+create or replace function public.touch_developers_updated_at() returns trigger as
+$$
+begin
+    new.updated_at = clock_timestamp();
+    return new;
+end;
+$$ language plpgsql;
+
+-- Timestamps are assigned before commit, so max(updated_at) alone can miss a change that
+-- commits after a newer one. Every committed write bumps a counter of its specialty instead;
+-- the counter is split into shards picked by backend so concurrent writers rarely share a row,
+-- and the list validator reads the sum, which grows with every commit.
+create table public.developer_list_revisions
+(
+    specialty varchar(255) not null,
+    shard     int          not null,
+    revision  bigint       not null default 0,
+    primary key (specialty, shard)
+);
+
+create or replace function public.bump_developer_list_revisions() returns trigger as
+$$
+begin
+    if TG_OP = 'INSERT' then
+        insert into public.developer_list_revisions (specialty, shard, revision)
+        select distinct coalesce(specialty, ''), pg_backend_pid() % 16, 1
+        from new_rows
+        order by 1
+        on conflict (specialty, shard) do update set revision = developer_list_revisions.revision + 1;
+    elsif TG_OP = 'DELETE' then
+        insert into public.developer_list_revisions (specialty, shard, revision)
+        select distinct coalesce(specialty, ''), pg_backend_pid() % 16, 1
+        from old_rows
+        order by 1
+        on conflict (specialty, shard) do update set revision = developer_list_revisions.revision + 1;
+    else
+        insert into public.developer_list_revisions (specialty, shard, revision)
+        select specialty, pg_backend_pid() % 16, 1
+        from (select coalesce(specialty, '') as specialty
+              from new_rows
+              union
+              select coalesce(specialty, '')
+              from old_rows) changes
+        order by 1
+        on conflict (specialty, shard) do update set revision = developer_list_revisions.revision + 1;
+    end if;
+    return null;
+end;
+$$ language plpgsql;
+
+create trigger developers_list_revisions_insert
+    after insert
+    on public.developers
+    referencing new table as new_rows
+    for each statement
+execute function public.bump_developer_list_revisions();
+
+create trigger developers_list_revisions_update
+    after update
+    on public.developers
+    referencing old table as old_rows new table as new_rows
+    for each statement
+execute function public.bump_developer_list_revisions();
+
+create trigger developers_list_revisions_delete
+    after delete
+    on public.developers
+    referencing old table as old_rows
+    for each statement
+execute function public.bump_developer_list_revisions();
@@ -0,0 +1,46 @@
+-- A single (specialty, status) row made every concurrent write to the same specialty wait on
+-- the row lock until commit. Counts are now split into shards picked by backend, so concurrent
+-- connections mostly update different rows; readers sum the shards, which may be negative
+-- individually when a row is inserted through one backend and deleted through another.
+alter table public.developer_stats
+    add column shard int not null default 0;
+
+alter table public.developer_stats
+    drop constraint developer_stats_pkey;
+
+alter table public.developer_stats
+    add primary key (specialty, status, shard);
+
+create or replace function public.maintain_developer_stats() returns trigger as
+$$
+begin
+    if TG_OP = 'INSERT' then
+        insert into public.developer_stats (specialty, status, shard, count)
+        select coalesce(specialty, ''), coalesce(status, ''), pg_backend_pid() % 16, count(*)
+        from new_rows
+        group by 1, 2
+        order by 1, 2
+        on conflict (specialty, status, shard) do update set count = developer_stats.count + excluded.count;
+    elsif TG_OP = 'DELETE' then
+        insert into public.developer_stats (specialty, status, shard, count)
+        select coalesce(specialty, ''), coalesce(status, ''), pg_backend_pid() % 16, -count(*)
+        from old_rows
+        group by 1, 2
+        order by 1, 2
+        on conflict (specialty, status, shard) do update set count = developer_stats.count + excluded.count;
+    else
+        insert into public.developer_stats (specialty, status, shard, count)
+        select specialty, status, pg_backend_pid() % 16, sum(delta)
+        from (select coalesce(specialty, '') as specialty, coalesce(status, '') as status, 1 as delta
+              from new_rows
+              union all
+              select coalesce(specialty, ''), coalesce(status, ''), -1
+              from old_rows) changes
+        group by 1, 2
+        having sum(delta) <> 0
+        order by 1, 2
+        on conflict (specialty, status, shard) do update set count = developer_stats.count + excluded.count;
+    end if;
+    return null;
+end;
+$$ language plpgsql;
@@ -0,0 +1,10 @@
+-- A GIN trigram index can filter LIKE but not order, so every match was fetched and sorted
+-- by word_similarity before the limit. GiST also serves the <->> distance operator, which
+-- lets the index return rows nearest first and stop at the limit. Both statements run
+-- concurrently, outside a transaction, so writes are not blocked during the swap.
+create index concurrently developers_search_text_trgm_gist_index
+    on public.developers using gist (
+        lower(coalesce(first_name, '') || ' ' || coalesce(last_name, '') || ' ' || coalesce(email, '')) gist_trgm_ops
+    );
+
+drop index concurrently public.developers_search_text_trgm_index;
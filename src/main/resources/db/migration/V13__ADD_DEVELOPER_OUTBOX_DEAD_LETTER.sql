@@ -0,0 +1,10 @@
+-- Events that keep failing stop being retried once they reach the attempt limit; they stay
+-- in the table with dead_lettered_at set so they can be inspected and replayed by hand.
+alter table public.developer_outbox
+    add column dead_lettered_at timestamptz;
+
+drop index public.developer_outbox_next_attempt_at_index;
+
+create index developer_outbox_next_attempt_at_index
+    on public.developer_outbox (next_attempt_at, id)
+    where dead_lettered_at is null;
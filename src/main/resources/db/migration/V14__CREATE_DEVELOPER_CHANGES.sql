@@ -0,0 +1,28 @@
+-- Change feed history. Outbox rows are deleted once relayed, so every outbox append is copied
+-- here in the same transaction; the sequence is shared by all instances and survives restarts.
+create table public.developer_changes
+(
+    sequence     bigserial   primary key,
+    developer_id integer     not null,
+    event_type   varchar(32) not null,
+    payload      text,
+    created_at   timestamptz not null default now()
+);
+
+create or replace function public.record_developer_changes() returns trigger as
+$$
+begin
+    insert into public.developer_changes (developer_id, event_type, payload, created_at)
+    select developer_id, event_type, payload, created_at
+    from new_rows
+    order by id;
+    return null;
+end;
+$$ language plpgsql;
+
+create trigger developer_outbox_record_changes
+    after insert
+    on public.developer_outbox
+    referencing new table as new_rows
+    for each statement
+execute function public.record_developer_changes();
@@ -0,0 +1,12 @@
+-- Emails used to be checked case-sensitively and outside any constraint, so existing data can hold
+-- the same address more than once. The oldest row of each lower(email) is kept; the others are
+-- moved to developers_email_duplicates for manual review, so the unique index in V2 can be built.
+create table public.developers_email_duplicates as
+select d.*, now() as moved_at
+from public.developers d
+where d.id not in (select min(id) from public.developers group by lower(email))
+  and d.email is not null;
+
+delete
+from public.developers d
+where d.id in (select id from public.developers_email_duplicates);
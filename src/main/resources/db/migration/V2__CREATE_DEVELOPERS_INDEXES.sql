@@ -0,0 +1,9 @@
+-- Built concurrently so writes to developers are not blocked while the indexes are created.
+-- Flyway runs a migration made only of concurrent statements outside a transaction. A failed
+-- concurrent build leaves an INVALID index behind, which has to be dropped before a retry.
+create unique index concurrently developers_email_lower_uindex
+    on public.developers (lower(email));
+
+create index concurrently developers_active_specialty_index
+    on public.developers (specialty)
+    where status = 'ACTIVE';
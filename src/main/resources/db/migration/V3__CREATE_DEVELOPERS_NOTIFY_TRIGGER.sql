@@ -0,0 +1,17 @@
+create or replace function public.notify_developers_change() returns trigger as
+$$
+begin
+    perform pg_notify('developers_changes',
+                      json_build_object(
+                              'operation', TG_OP,
+                              'id', case when TG_OP = 'DELETE' then OLD.id else NEW.id end
+                      )::text);
+    return null;
+end;
+$$ language plpgsql;
+
+create trigger developers_notify_change
+    after update or delete
+    on public.developers
+    for each row
+execute function public.notify_developers_change();
@@ -0,0 +1,2 @@
+-- Kept apart from V5, whose concurrent index build has to run outside a transaction
+create extension if not exists pg_trgm;
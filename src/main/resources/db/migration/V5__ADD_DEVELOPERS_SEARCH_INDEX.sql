@@ -0,0 +1,7 @@
+-- An expression index instead of a stored generated column: adding the column would rewrite the
+-- whole table under an ACCESS EXCLUSIVE lock, while a concurrent index build lets reads and writes
+-- continue. Queries must repeat the expression exactly (DeveloperRepository.SEARCH_TEXT).
+create index concurrently developers_search_text_trgm_index
+    on public.developers using gin (
+        lower(coalesce(first_name, '') || ' ' || coalesce(last_name, '') || ' ' || coalesce(email, '')) gin_trgm_ops
+    );
@@ -0,0 +1,70 @@
+create table public.developer_stats
+(
+    specialty varchar(255) not null,
+    status    varchar(255) not null,
+    count     bigint       not null default 0,
+    primary key (specialty, status)
+);
+
+-- Statement-level triggers with transition tables fold a multi-row insert into
+-- one upsert per (specialty, status); rows are upserted in key order so
+-- concurrent writers lock summary rows in the same order.
+create or replace function public.maintain_developer_stats() returns trigger as
+$$
+begin
+    if TG_OP = 'INSERT' then
+        insert into public.developer_stats (specialty, status, count)
+        select coalesce(specialty, ''), coalesce(status, ''), count(*)
+        from new_rows
+        group by 1, 2
+        order by 1, 2
+        on conflict (specialty, status) do update set count = developer_stats.count + excluded.count;
+    elsif TG_OP = 'DELETE' then
+        insert into public.developer_stats (specialty, status, count)
+        select coalesce(specialty, ''), coalesce(status, ''), -count(*)
+        from old_rows
+        group by 1, 2
+        order by 1, 2
+        on conflict (specialty, status) do update set count = developer_stats.count + excluded.count;
+    else
+        insert into public.developer_stats (specialty, status, count)
+        select specialty, status, sum(delta)
+        from (select coalesce(specialty, '') as specialty, coalesce(status, '') as status, 1 as delta
+              from new_rows
+              union all
+              select coalesce(specialty, ''), coalesce(status, ''), -1
+              from old_rows) changes
+        group by 1, 2
+        having sum(delta) <> 0
+        order by 1, 2
+        on conflict (specialty, status) do update set count = developer_stats.count + excluded.count;
+    end if;
+    return null;
+end;
+$$ language plpgsql;
+
+create trigger developers_stats_insert
+    after insert
+    on public.developers
+    referencing new table as new_rows
+    for each statement
+execute function public.maintain_developer_stats();
+
+create trigger developers_stats_update
+    after update
+    on public.developers
+    referencing old table as old_rows new table as new_rows
+    for each statement
+execute function public.maintain_developer_stats();
+
+create trigger developers_stats_delete
+    after delete
+    on public.developers
+    referencing old table as old_rows
+    for each statement
+execute function public.maintain_developer_stats();
+
+insert into public.developer_stats (specialty, status, count)
+select coalesce(specialty, ''), coalesce(status, ''), count(*)
+from public.developers
+group by 1, 2;
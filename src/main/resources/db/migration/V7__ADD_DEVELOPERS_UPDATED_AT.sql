@@ -0,0 +1,16 @@
+alter table public.developers
+    add column updated_at timestamptz not null default now();
+
+create or replace function public.touch_developers_updated_at() returns trigger as
+$$
+begin
+    new.updated_at = now();
+    return new;
+end;
+$$ language plpgsql;
+
+create trigger developers_touch_updated_at
+    before insert or update
+    on public.developers
+    for each row
+execute function public.touch_developers_updated_at();
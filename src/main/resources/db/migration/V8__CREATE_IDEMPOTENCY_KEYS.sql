@@ -0,0 +1,13 @@
+create table public.idempotency_keys
+(
+    idempotency_key varchar(255) not null,
+    operation       varchar(64)  not null,
+    request_hash    varchar(64)  not null,
+    response_body   text,
+    created_at      timestamptz  not null default now(),
+    expires_at      timestamptz  not null,
+    primary key (idempotency_key, operation)
+);
+
+create index idempotency_keys_expires_at_index
+    on public.idempotency_keys (expires_at);
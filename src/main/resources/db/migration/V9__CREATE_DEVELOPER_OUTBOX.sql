@@ -0,0 +1,13 @@
+create table public.developer_outbox
+(
+    id              bigserial   primary key,
+    developer_id    integer     not null,
+    event_type      varchar(32) not null,
+    payload         text,
+    created_at      timestamptz not null default now(),
+    attempts        integer     not null default 0,
+    next_attempt_at timestamptz not null default now()
+);
+
+create index developer_outbox_next_attempt_at_index
+    on public.developer_outbox (next_attempt_at, id);
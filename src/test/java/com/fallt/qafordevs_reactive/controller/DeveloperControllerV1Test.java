@@ -1,11 +1,20 @@
 package com.fallt.qafordevs_reactive.controller;
 
+import com.fallt.qafordevs_reactive.config.CodecConfig;
+import com.fallt.qafordevs_reactive.dto.DeveloperChangeEventDto;
 import com.fallt.qafordevs_reactive.dto.DeveloperDto;
+import com.fallt.qafordevs_reactive.entity.ChangeType;
 import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
+import com.fallt.qafordevs_reactive.entity.DeveloperListValidatorEntity;
 import com.fallt.qafordevs_reactive.exception.DeveloperNotFoundException;
+import com.fallt.qafordevs_reactive.exception.DeveloperVersionConflictException;
 import com.fallt.qafordevs_reactive.exception.DeveloperWithEmailAlreadyExistsException;
 import com.fallt.qafordevs_reactive.service.DeveloperService;
+import com.fallt.qafordevs_reactive.service.IdempotencyService;
+import com.fallt.qafordevs_reactive.util.CursorUtils;
 import com.fallt.qafordevs_reactive.util.DataUtils;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,16 +23,30 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 
 @ComponentScan("com.fallt.qafordevs_reactive.exception")
+@Import(CodecConfig.class)
 @ExtendWith(SpringExtension.class)
 @WebFluxTest(controllers = DeveloperControllerV1.class)
 class DeveloperControllerV1Test {
@@ -34,6 +57,9 @@ class DeveloperControllerV1Test {
     @MockBean
     private DeveloperService developerService;
 
+    @MockBean
+    private IdempotencyService idempotencyService;
+
     @Test
     @DisplayName("Test create developer functionality")
     void givenDeveloperDto_whenCreateDeveloper_thenSuccessResponse() {
@@ -79,6 +105,32 @@ class DeveloperControllerV1Test {
                 .jsonPath("$.errorCode").isEqualTo("DEVELOPER_DUPLICATE_EMAIL");
     }
 
+    @Test
+    @DisplayName("Test batch create developers functionality")
+    void givenDeveloperDtos_whenCreateDevelopers_thenResultPerItemIsReturned() {
+        //given
+        DeveloperEntity entity = DataUtils.getJohnDoePersisted();
+        BDDMockito.given(developerService.createDevelopers(any()))
+                .willReturn(Flux.just(Optional.of(entity), Optional.empty()));
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.post()
+                .uri("/api/v1/developers/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(DataUtils.getJohnDoeDtoTransient(), DataUtils.getJohnDoeDtoTransient()))
+                .exchange();
+        //then
+        result.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.size()").isEqualTo(2)
+                .jsonPath("$[0].index").isEqualTo(0)
+                .jsonPath("$[0].outcome").isEqualTo("CREATED")
+                .jsonPath("$[0].developer.id").isEqualTo(1)
+                .jsonPath("$[1].index").isEqualTo(1)
+                .jsonPath("$[1].outcome").isEqualTo("REJECTED")
+                .jsonPath("$[1].error.errorCode").isEqualTo("DEVELOPER_DUPLICATE_EMAIL");
+    }
+
     @Test
     @DisplayName("Test update developer functionality")
     void givenDeveloperDto_whenUpdateDeveloper_thenSuccessResponse() {
@@ -124,6 +176,96 @@ class DeveloperControllerV1Test {
                 .jsonPath("$.errorCode").isEqualTo("DEVELOPER_NOT_FOUND");
     }
 
+    @Test
+    @DisplayName("Test patch developer functionality")
+    void givenPartialDeveloperDto_whenPatchDeveloper_thenSuccessResponse() {
+        //given
+        DeveloperDto dto = DeveloperDto.builder()
+                .specialty("Kotlin")
+                .build();
+        DeveloperEntity entity = DataUtils.getJohnDoePersisted();
+        entity.setSpecialty("Kotlin");
+        entity.setVersion(2L);
+        BDDMockito.given(developerService.patchDeveloper(eq(1), any(DeveloperEntity.class)))
+                .willReturn(Mono.just(entity));
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.patch()
+                .uri("/api/v1/developers/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(dto), DeveloperDto.class)
+                .exchange();
+        //then
+        result.expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"2\"")
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.specialty").isEqualTo("Kotlin")
+                .jsonPath("$.version").isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test patch developer that runs out of retries without If-Match returns 409")
+    void givenRetriesExhaustedWithoutIfMatch_whenPatchDeveloper_thenConflictIsReturned() {
+        //given
+        DeveloperDto dto = DeveloperDto.builder()
+                .specialty("Kotlin")
+                .build();
+        BDDMockito.given(developerService.patchDeveloper(eq(1), any(DeveloperEntity.class)))
+                .willReturn(Mono.error(new DeveloperVersionConflictException("Developer was modified concurrently", "DEVELOPER_VERSION_CONFLICT")));
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.patch()
+                .uri("/api/v1/developers/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(dto), DeveloperDto.class)
+                .exchange();
+        //then
+        result.expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.errorCode").isEqualTo("DEVELOPER_VERSION_CONFLICT");
+    }
+
+    @Test
+    @DisplayName("Test patch developer with a stale If-Match returns 412")
+    void givenStaleIfMatch_whenPatchDeveloper_thenPreconditionFailedIsReturned() {
+        //given
+        DeveloperDto dto = DeveloperDto.builder()
+                .specialty("Kotlin")
+                .build();
+        BDDMockito.given(developerService.patchDeveloper(eq(1), any(DeveloperEntity.class)))
+                .willReturn(Mono.error(new DeveloperVersionConflictException("Developer was modified concurrently", "DEVELOPER_VERSION_CONFLICT")));
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.patch()
+                .uri("/api/v1/developers/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"1\"")
+                .body(Mono.just(dto), DeveloperDto.class)
+                .exchange();
+        //then
+        result.expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED)
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("DEVELOPER_VERSION_CONFLICT");
+    }
+
+    @Test
+    @DisplayName("Test update developer with a stale version in the body returns 409")
+    void givenStaleBodyVersion_whenUpdateDeveloper_thenConflictIsReturned() {
+        //given
+        DeveloperDto dto = DataUtils.getJohnDoeDtoPersisted();
+        dto.setVersion(1L);
+        BDDMockito.given(developerService.updateDeveloper(any(DeveloperEntity.class)))
+                .willReturn(Mono.error(new DeveloperVersionConflictException("Developer was modified concurrently", "DEVELOPER_VERSION_CONFLICT")));
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.put()
+                .uri("/api/v1/developers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(dto), DeveloperDto.class)
+                .exchange();
+        //then
+        result.expectStatus().isEqualTo(HttpStatus.CONFLICT);
+    }
+
     @Test
     @DisplayName("Test get all developers functionality")
     void givenThreeDevelopers_whenGetAll_thenDevelopersAreReturned() {
@@ -131,7 +273,7 @@ class DeveloperControllerV1Test {
         DeveloperEntity developer1 = DataUtils.getJohnDoePersisted();
         DeveloperEntity developer2 = DataUtils.getMikeSmithPersisted();
         DeveloperEntity developer3 = DataUtils.getFrankJonesPersisted();
-        BDDMockito.given(developerService.getAllDevelopers())
+        BDDMockito.given(developerService.getDevelopersPage(isNull(), anyInt()))
                 .willReturn(Flux.just(developer1, developer2, developer3));
         //when
         WebTestClient.ResponseSpec result = webTestClient.get()
@@ -139,11 +281,159 @@ class DeveloperControllerV1Test {
                 .exchange();
         //then
         result.expectStatus().isOk()
+                .expectHeader().doesNotExist(DeveloperControllerV1.NEXT_CURSOR_HEADER)
                 .expectBody()
                 .consumeWith(System.out::println)
                 .jsonPath("$.size()").isEqualTo(3);
     }
 
+    @Test
+    @DisplayName("Test get full page of developers functionality")
+    void givenFullPage_whenGetAll_thenNextCursorIsReturned() {
+        //given
+        DeveloperEntity developer1 = DataUtils.getJohnDoePersisted();
+        DeveloperEntity developer2 = DataUtils.getMikeSmithPersisted();
+        BDDMockito.given(developerService.getDevelopersPage(isNull(), eq(2)))
+                .willReturn(Flux.just(developer1, developer2));
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.get()
+                .uri("/api/v1/developers?size=2")
+                .exchange();
+        //then
+        result.expectStatus().isOk()
+                .expectHeader().valueEquals(DeveloperControllerV1.NEXT_CURSOR_HEADER, CursorUtils.encode(developer2.getId()))
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.size()").isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test get developers with invalid cursor functionality")
+    void givenInvalidCursor_whenGetAll_thenExceptionIsThrown() {
+        //given
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.get()
+                .uri("/api/v1/developers?cursor=invalid")
+                .exchange();
+        //then
+        result.expectStatus().isBadRequest()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.message").isEqualTo("Invalid cursor")
+                .jsonPath("$.errorCode").isEqualTo("INVALID_REQUEST_PARAMETER");
+    }
+
+    @Test
+    @DisplayName("Test stream all developers functionality")
+    void givenThreeDevelopers_whenStreamAll_thenDevelopersAreStreamed() {
+        //given
+        DeveloperEntity developer1 = DataUtils.getJohnDoePersisted();
+        DeveloperEntity developer2 = DataUtils.getMikeSmithPersisted();
+        DeveloperEntity developer3 = DataUtils.getFrankJonesPersisted();
+        BDDMockito.given(developerService.getAllDevelopers())
+                .willReturn(Flux.just(developer1, developer2, developer3));
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.get()
+                .uri("/api/v1/developers")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange();
+        //then
+        result.expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(DeveloperDto.class)
+                .hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Test stream developer changes as server-sent events resuming from last event id")
+    void givenLastEventId_whenStreamChanges_thenEventsAfterItAreReturned() {
+        //given
+        DeveloperEntity developer = DataUtils.getJohnDoePersisted();
+        DeveloperChangeEventDto event = DeveloperChangeEventDto.builder()
+                .sequence(6L)
+                .type(ChangeType.UPDATED)
+                .id(developer.getId())
+                .developer(DeveloperDto.toDto(developer))
+                .timestamp(Instant.now())
+                .build();
+        BDDMockito.given(developerService.getChanges(eq(5L)))
+                .willReturn(Flux.just(event));
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.get()
+                .uri("/api/v1/developers/changes?since=1")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .header(DeveloperControllerV1.LAST_EVENT_ID_HEADER, "5")
+                .exchange();
+        //then
+        List<ServerSentEvent<DeveloperChangeEventDto>> events = result.expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<DeveloperChangeEventDto>>() {
+                })
+                .getResponseBody()
+                .collectList()
+                .block();
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).id()).isEqualTo("6");
+        assertThat(events.get(0).event()).isEqualTo("UPDATED");
+        assertThat(events.get(0).data().getId()).isEqualTo(developer.getId());
+    }
+
+    @Test
+    @DisplayName("Test stream developer changes is not served as a single document")
+    void givenJsonAccept_whenStreamChanges_thenNotAcceptableIsReturned() {
+        //given
+        BDDMockito.given(developerService.getChanges(any())).willReturn(Flux.never());
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.get()
+                .uri("/api/v1/developers/changes")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange();
+        //then
+        result.expectStatus().isEqualTo(HttpStatus.NOT_ACCEPTABLE);
+    }
+
+    @Test
+    @DisplayName("Test search developers functionality")
+    void givenQuery_whenSearch_thenRankedDevelopersAreReturned() {
+        //given
+        DeveloperEntity developer1 = DataUtils.getJohnDoePersisted();
+        DeveloperEntity developer2 = DataUtils.getFrankJonesPersisted();
+        BDDMockito.given(developerService.searchDevelopers(eq("jo"), eq(5)))
+                .willReturn(Flux.just(developer1, developer2));
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.get()
+                .uri("/api/v1/developers/search?q=jo&size=5")
+                .exchange();
+        //then
+        result.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].id").isEqualTo(developer1.getId())
+                .jsonPath("$[1].id").isEqualTo(developer2.getId());
+    }
+
+    @Test
+    @DisplayName("Test get developers by ids functionality")
+    void givenIds_whenGetByIds_thenDevelopersAreReturned() {
+        //given
+        DeveloperEntity developer1 = DataUtils.getJohnDoePersisted();
+        DeveloperEntity developer2 = DataUtils.getMikeSmithPersisted();
+        BDDMockito.given(developerService.getByIds(eq(List.of(developer1.getId(), developer2.getId(), 999))))
+                .willReturn(Flux.just(developer1, developer2));
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.get()
+                .uri("/api/v1/developers?ids=" + developer1.getId() + "," + developer2.getId() + ",999")
+                .exchange();
+        //then
+        result.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].id").isEqualTo(developer1.getId())
+                .jsonPath("$[1].id").isEqualTo(developer2.getId());
+    }
+
     @Test
     @DisplayName("Test get developer by id functionality")
     void givenId_whenGetById_thenDeveloperIsReturned() {
@@ -165,6 +455,123 @@ class DeveloperControllerV1Test {
                 .jsonPath("$.status").isEqualTo("ACTIVE");
     }
 
+    @Test
+    @DisplayName("Test get developer by id as CBOR functionality")
+    void givenCborAccept_whenGetById_thenCborDeveloperIsReturned() throws IOException {
+        //given
+        DeveloperEntity developer = DataUtils.getJohnDoePersisted();
+        BDDMockito.given(developerService.getById(anyInt()))
+                .willReturn(Mono.just(developer));
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.get()
+                .uri("/api/v1/developers/" + developer.getId())
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange();
+        //then
+        byte[] body = result.expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+        DeveloperDto dto = new CBORMapper().readValue(body, DeveloperDto.class);
+        assertThat(dto.getId()).isEqualTo(developer.getId());
+        assertThat(dto.getEmail()).isEqualTo(developer.getEmail());
+    }
+
+    @Test
+    @DisplayName("Test get developers by specialty as CBOR functionality")
+    void givenCborAccept_whenGetAllBySpecialty_thenCborArrayIsReturned() throws IOException {
+        //given
+        DeveloperEntity developer1 = DataUtils.getJohnDoePersisted();
+        DeveloperEntity developer2 = DataUtils.getMikeSmithPersisted();
+        BDDMockito.given(developerService.getActiveBySpecialtyValidator(eq("Java"), isNull()))
+                .willReturn(Mono.just(new DeveloperListValidatorEntity(2L, 1L)));
+        BDDMockito.given(developerService.getAllActiveBySpecialty(eq("Java"), isNull()))
+                .willReturn(Flux.just(developer1, developer2));
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.get()
+                .uri("/api/v1/developers/specialty/Java")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange();
+        //then
+        byte[] body = result.expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+        assertThat(body[0]).isEqualTo((byte) 0x9F);
+        assertThat(body[body.length - 1]).isEqualTo((byte) 0xFF);
+        DeveloperDto[] dtos = new CBORMapper().readValue(body, DeveloperDto[].class);
+        assertThat(dtos).extracting(DeveloperDto::getId)
+                .containsExactly(developer1.getId(), developer2.getId());
+    }
+
+    @Test
+    @DisplayName("Test get developers by specialty as CBOR with no developers functionality")
+    void givenCborAcceptAndNoDevelopers_whenGetAllBySpecialty_thenEmptyCborArrayIsReturned() throws IOException {
+        //given
+        BDDMockito.given(developerService.getActiveBySpecialtyValidator(eq("Java"), isNull()))
+                .willReturn(Mono.just(new DeveloperListValidatorEntity(0L, 1L)));
+        BDDMockito.given(developerService.getAllActiveBySpecialty(eq("Java"), isNull()))
+                .willReturn(Flux.empty());
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.get()
+                .uri("/api/v1/developers/specialty/Java")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange();
+        //then
+        byte[] body = result.expectStatus().isOk()
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+        assertThat(new CBORMapper().readValue(body, DeveloperDto[].class)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test get developers by specialty as Smile functionality")
+    void givenSmileAccept_whenGetAllBySpecialty_thenSmileArrayIsReturned() throws IOException {
+        //given
+        DeveloperEntity developer1 = DataUtils.getJohnDoePersisted();
+        DeveloperEntity developer2 = DataUtils.getMikeSmithPersisted();
+        BDDMockito.given(developerService.getActiveBySpecialtyValidator(eq("Java"), isNull()))
+                .willReturn(Mono.just(new DeveloperListValidatorEntity(2L, 1L)));
+        BDDMockito.given(developerService.getAllActiveBySpecialty(eq("Java"), isNull()))
+                .willReturn(Flux.just(developer1, developer2));
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.get()
+                .uri("/api/v1/developers/specialty/Java")
+                .accept(MediaType.valueOf("application/x-jackson-smile"))
+                .exchange();
+        //then
+        byte[] body = result.expectStatus().isOk()
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+        DeveloperDto[] dtos = new SmileMapper().readValue(body, DeveloperDto[].class);
+        assertThat(dtos).extracting(DeveloperDto::getId)
+                .containsExactly(developer1.getId(), developer2.getId());
+    }
+
+    @Test
+    @DisplayName("Test get developer by id with matching If-None-Match functionality")
+    void givenMatchingIfNoneMatch_whenGetById_thenNotModifiedIsReturned() {
+        //given
+        DeveloperEntity developer = DataUtils.getJohnDoePersisted();
+        developer.setVersion(2L);
+        developer.setUpdatedAt(Instant.parse("2024-01-01T10:00:00Z"));
+        BDDMockito.given(developerService.getById(anyInt()))
+                .willReturn(Mono.just(developer));
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.get()
+                .uri("/api/v1/developers/" + developer.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, "\"2\"")
+                .exchange();
+        //then
+        result.expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"2\"")
+                .expectBody().isEmpty();
+    }
+
     @Test
     @DisplayName("Test get developer by incorrect id functionality")
     void givenIncorrectId_whenGetById_thenExceptionIsThrown() {
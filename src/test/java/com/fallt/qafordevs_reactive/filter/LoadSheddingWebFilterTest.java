@@ -0,0 +1,168 @@
+package com.fallt.qafordevs_reactive.filter;
+
+import com.fallt.qafordevs_reactive.config.DeveloperProperties;
+import com.fallt.qafordevs_reactive.config.HikariPoolLoad;
+import com.fallt.qafordevs_reactive.config.InstrumentedConnectionFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadSheddingWebFilterTest {
+
+    private final AtomicInteger passed = new AtomicInteger();
+
+    private final WebFilterChain chain = exchange -> Mono.fromRunnable(passed::incrementAndGet);
+
+    private InstrumentedConnectionFactory connectionFactory;
+
+    private ObjectProvider<HikariPoolLoad> jdbcProvider;
+
+    private LoadSheddingWebFilter filter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        DeveloperProperties properties = new DeveloperProperties();
+        properties.getLoadShedding().setMinLimit(2);
+        properties.getLoadShedding().setMaxLimit(20);
+        properties.getLoadShedding().setMaxPendingAcquires(4);
+        properties.getLoadShedding().setAcquireLatencyThreshold(Duration.ofMillis(100));
+        properties.getLoadShedding().setDecreaseInterval(Duration.ZERO);
+        connectionFactory = Mockito.mock(InstrumentedConnectionFactory.class);
+        BDDMockito.given(connectionFactory.getRecentAcquireTime()).willReturn(Duration.ofMillis(1));
+        ObjectProvider<ConnectionFactory> provider = Mockito.mock(ObjectProvider.class);
+        BDDMockito.given(provider.getIfAvailable()).willReturn(connectionFactory);
+        jdbcProvider = Mockito.mock(ObjectProvider.class);
+        filter = new LoadSheddingWebFilter(properties, new ObjectMapper(), provider, jdbcProvider);
+    }
+
+    @Test
+    @DisplayName("Test limit shrinks by a tenth while acquire latency is above the threshold")
+    void givenSlowAcquires_whenFilter_thenLimitDecreases() {
+        //given
+        BDDMockito.given(connectionFactory.getRecentAcquireTime()).willReturn(Duration.ofMillis(500));
+        //when
+        filter.filter(exchange(), chain).block();
+        filter.filter(exchange(), chain).block();
+        //then
+        assertThat(filter.getLimit()).isEqualTo(17);
+        assertThat(passed).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Test limit never drops below the minimum")
+    void givenSustainedSlowAcquires_whenFilter_thenLimitStopsAtMinimum() {
+        //given
+        BDDMockito.given(connectionFactory.getRecentAcquireTime()).willReturn(Duration.ofMillis(500));
+        //when
+        for (int i = 0; i < 50; i++) {
+            filter.filter(exchange(), chain).block();
+        }
+        //then
+        assertThat(filter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test limit grows back by one per request once acquire latency recovers")
+    void givenRecoveredAcquires_whenFilter_thenLimitIncreasesUpToMaximum() {
+        //given
+        BDDMockito.given(connectionFactory.getRecentAcquireTime()).willReturn(Duration.ofMillis(500));
+        filter.filter(exchange(), chain).block();
+        filter.filter(exchange(), chain).block();
+        BDDMockito.given(connectionFactory.getRecentAcquireTime()).willReturn(Duration.ofMillis(1));
+        //when
+        filter.filter(exchange(), chain).block();
+        int afterOne = filter.getLimit();
+        for (int i = 0; i < 10; i++) {
+            filter.filter(exchange(), chain).block();
+        }
+        //then
+        assertThat(afterOne).isEqualTo(18);
+        assertThat(filter.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Test requests are rejected with 503 while too many connection acquires are pending")
+    void givenPendingAcquiresOverLimit_whenFilter_thenServiceUnavailableIsReturned() {
+        //given
+        BDDMockito.given(connectionFactory.getPendingAcquireCount()).willReturn(5);
+        MockServerWebExchange exchange = exchange();
+        //when
+        filter.filter(exchange, chain).block();
+        //then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(exchange.getResponse().getBodyAsString().block()).contains("SERVICE_OVERLOADED");
+        assertThat(passed).hasValue(0);
+        assertThat(filter.getLimit()).isEqualTo(18);
+        assertThat(filter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Test requests over the concurrency limit are rejected with 503")
+    void givenLimitReached_whenFilter_thenServiceUnavailableIsReturned() {
+        //given
+        BDDMockito.given(connectionFactory.getRecentAcquireTime()).willReturn(Duration.ofMillis(500));
+        for (int i = 0; i < 50; i++) {
+            filter.filter(exchange(), chain).block();
+        }
+        Disposable first = filter.filter(exchange(), exchange -> Mono.never()).subscribe();
+        Disposable second = filter.filter(exchange(), exchange -> Mono.never()).subscribe();
+        MockServerWebExchange third = exchange();
+        //when
+        filter.filter(third, chain).block();
+        //then
+        assertThat(filter.getInFlight()).isEqualTo(2);
+        assertThat(third.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        first.dispose();
+        second.dispose();
+        assertThat(filter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Test change feed subscriptions are not counted")
+    void givenChangeFeedRequest_whenFilter_thenItIsNotCounted() {
+        //given
+        BDDMockito.given(connectionFactory.getPendingAcquireCount()).willReturn(5);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/developers/changes"));
+        //when
+        filter.filter(exchange, chain).block();
+        //then
+        assertThat(exchange.getResponse().getStatusCode()).isNull();
+        assertThat(passed).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Test the jdbc pool is watched when the jdbc backend is active")
+    void givenJdbcBackend_whenFilter_thenJdbcPoolSignalsAreUsed() {
+        //given
+        HikariPoolLoad jdbcPoolLoad = Mockito.mock(HikariPoolLoad.class);
+        BDDMockito.given(jdbcPoolLoad.getPendingAcquireCount()).willReturn(5);
+        BDDMockito.given(jdbcProvider.getIfAvailable()).willReturn(jdbcPoolLoad);
+        MockServerWebExchange exchange = exchange();
+        //when
+        filter.filter(exchange, chain).block();
+        //then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        Mockito.verifyNoInteractions(connectionFactory);
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/developers"));
+    }
+}
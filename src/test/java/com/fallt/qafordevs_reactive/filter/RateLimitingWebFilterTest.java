@@ -0,0 +1,138 @@
+package com.fallt.qafordevs_reactive.filter;
+
+import com.fallt.qafordevs_reactive.config.DeveloperProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.server.adapter.ForwardedHeaderTransformer;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitingWebFilterTest {
+
+    private final WebFilterChain chain = exchange -> Mono.empty();
+
+    private RateLimitingWebFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        DeveloperProperties properties = new DeveloperProperties();
+        properties.getRateLimit().setRequestsPerSecond(1);
+        properties.getRateLimit().setBurst(2);
+        properties.getRateLimit().setApiKeys(List.of("client-a", "client-b"));
+        filter = new RateLimitingWebFilter(properties, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("Test requests over the burst are rejected with 429")
+    void givenBurstExceeded_whenFilter_thenTooManyRequestsIsReturned() {
+        //given
+        //when
+        MockServerWebExchange first = exchange("client-a");
+        MockServerWebExchange second = exchange("client-a");
+        MockServerWebExchange third = exchange("client-a");
+        filter.filter(first, chain).block();
+        filter.filter(second, chain).block();
+        filter.filter(third, chain).block();
+        //then
+        assertThat(first.getResponse().getStatusCode()).isNull();
+        assertThat(second.getResponse().getStatusCode()).isNull();
+        assertThat(third.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(third.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(third.getResponse().getBodyAsString().block()).contains("RATE_LIMIT_EXCEEDED");
+    }
+
+    @Test
+    @DisplayName("Test clients with different api keys have separate buckets")
+    void givenDifferentApiKeys_whenFilter_thenBucketsAreIndependent() {
+        //given
+        filter.filter(exchange("client-a"), chain).block();
+        filter.filter(exchange("client-a"), chain).block();
+        //when
+        MockServerWebExchange other = exchange("client-b");
+        filter.filter(other, chain).block();
+        //then
+        assertThat(other.getResponse().getStatusCode()).isNull();
+    }
+
+    @Test
+    @DisplayName("Test unknown api keys are limited by client address")
+    void givenUnknownApiKeys_whenFilter_thenClientAddressBucketIsShared() {
+        //given
+        filter.filter(exchange("unknown-1", "10.0.0.1"), chain).block();
+        filter.filter(exchange("unknown-2", "10.0.0.1"), chain).block();
+        //when
+        MockServerWebExchange third = exchange("unknown-3", "10.0.0.1");
+        filter.filter(third, chain).block();
+        //then
+        assertThat(third.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    @DisplayName("Test forwarded headers are ignored unless a forwarded header strategy is enabled")
+    void givenSpoofedForwardedFor_whenFilter_thenConnectingAddressIsLimited() {
+        //given
+        filter.filter(spoofed("192.168.0.1"), chain).block();
+        filter.filter(spoofed("192.168.0.2"), chain).block();
+        //when
+        MockServerWebExchange third = spoofed("192.168.0.3");
+        filter.filter(third, chain).block();
+        //then
+        assertThat(third.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    @DisplayName("Test clients behind a trusted proxy are limited by their forwarded address")
+    void givenForwardedFor_whenFilter_thenBucketsAreIndependentPerClient() {
+        //given
+        ForwardedHeaderTransformer transformer = new ForwardedHeaderTransformer();
+        filter.filter(forwarded(transformer, "192.168.0.1"), chain).block();
+        filter.filter(forwarded(transformer, "192.168.0.1"), chain).block();
+        //when
+        ServerWebExchange same = forwarded(transformer, "192.168.0.1");
+        ServerWebExchange other = forwarded(transformer, "192.168.0.2");
+        filter.filter(same, chain).block();
+        filter.filter(other, chain).block();
+        //then
+        assertThat(same.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(other.getResponse().getStatusCode()).isNull();
+    }
+
+    private static MockServerWebExchange exchange(String apiKey) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/developers")
+                .header("X-API-Key", apiKey));
+    }
+
+    private static MockServerWebExchange exchange(String apiKey, String address) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/developers")
+                .header("X-API-Key", apiKey)
+                .remoteAddress(new InetSocketAddress(address, 40000)));
+    }
+
+    // Without a forwarded header strategy nothing rewrites the remote address
+    private static MockServerWebExchange spoofed(String claimedAddress) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/developers")
+                .header("X-Forwarded-For", claimedAddress)
+                .remoteAddress(new InetSocketAddress("10.0.0.1", 40000)));
+    }
+
+    // The transformer stands in for server.forward-headers-strategy=framework; the proxy connects from
+    // the same address for every client
+    private static ServerWebExchange forwarded(ForwardedHeaderTransformer transformer, String clientAddress) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/developers")
+                .header("X-Forwarded-For", clientAddress)
+                .remoteAddress(new InetSocketAddress("10.0.0.1", 40000)));
+        return exchange.mutate().request(transformer.apply(exchange.getRequest())).build();
+    }
+}
@@ -1,10 +1,12 @@
 package com.fallt.qafordevs_reactive.it;
 
 import com.fallt.qafordevs_reactive.config.PostgreTestcontainerConfig;
+import com.fallt.qafordevs_reactive.controller.DeveloperControllerV1;
 import com.fallt.qafordevs_reactive.dto.DeveloperDto;
 import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
 import com.fallt.qafordevs_reactive.repository.DeveloperRepository;
 import com.fallt.qafordevs_reactive.util.DataUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,10 +15,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Mono;
 
+import java.security.MessageDigest;
+import java.util.HexFormat;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -33,6 +40,12 @@ class ItDeveloperControllerV1Test {
     @Autowired
     private WebTestClient webTestClient;
 
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @BeforeEach
     public void setUp() {
         developerRepository.deleteAll().block();
@@ -110,6 +123,28 @@ class ItDeveloperControllerV1Test {
                 .jsonPath("$.status").isEqualTo("ACTIVE");
     }
 
+    @Test
+    @DisplayName("Test update developer with stale If-Match functionality")
+    void givenStaleIfMatch_whenUpdateDeveloper_thenPreconditionFailed() {
+        //given
+        DeveloperEntity entity = DataUtils.getJohnDoeTransient();
+        developerRepository.save(entity).block();
+        DeveloperDto dto = DataUtils.getJohnDoeDtoPersisted();
+        dto.setId(entity.getId());
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.put()
+                .uri("/api/v1/developers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"" + (entity.getVersion() + 1) + "\"")
+                .body(Mono.just(dto), DeveloperDto.class)
+                .exchange();
+        //then
+        result.expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED)
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.errorCode").isEqualTo("DEVELOPER_VERSION_CONFLICT");
+    }
+
     @Test
     @DisplayName("Test update developer with incorrect id functionality")
     void givenDtoWithIncorrectId_whenUpdateDeveloper_thenExceptionIsThrown() {
@@ -149,6 +184,38 @@ class ItDeveloperControllerV1Test {
                 .jsonPath("$.size()").isEqualTo(3);
     }
 
+    @Test
+    @DisplayName("Test get developers page by cursor functionality")
+    void givenThreeDevelopers_whenGetAllByCursor_thenPagesAreReturned() {
+        //given
+        DeveloperEntity developer1 = DataUtils.getJohnDoeTransient();
+        DeveloperEntity developer2 = DataUtils.getMikeSmithTransient();
+        DeveloperEntity developer3 = DataUtils.getFrankJonesTransient();
+        List<DeveloperEntity> list = List.of(developer1, developer2, developer3);
+        developerRepository.saveAll(list).blockLast();
+        //when
+        String nextCursor = webTestClient.get()
+                .uri("/api/v1/developers?size=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.size()").isEqualTo(2)
+                .returnResult()
+                .getResponseHeaders()
+                .getFirst(DeveloperControllerV1.NEXT_CURSOR_HEADER);
+        WebTestClient.ResponseSpec result = webTestClient.get()
+                .uri("/api/v1/developers?size=2&cursor=" + nextCursor)
+                .exchange();
+        //then
+        assertThat(nextCursor).isNotNull();
+        result.expectStatus().isOk()
+                .expectHeader().doesNotExist(DeveloperControllerV1.NEXT_CURSOR_HEADER)
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.size()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(developer3.getId());
+    }
+
     @Test
     @DisplayName("Test get developer by id functionality")
     void givenId_whenGetById_thenDeveloperIsReturned() {
@@ -250,4 +317,292 @@ class ItDeveloperControllerV1Test {
                 .jsonPath("$.message").isEqualTo("Developer not found")
                 .jsonPath("$.errorCode").isEqualTo("DEVELOPER_NOT_FOUND");
     }
+
+    @Test
+    @DisplayName("Test get developer stats functionality")
+    void givenDevelopers_whenGetStats_thenCountsBySpecialtyAndStatusAreReturned() {
+        //given
+        developerRepository.saveAll(List.of(
+                DataUtils.getJohnDoeTransient(),
+                DataUtils.getMikeSmithTransient(),
+                DataUtils.getFrankJonesTransient())).blockLast();
+        DeveloperEntity john = developerRepository.findByEmail(DataUtils.getJohnDoeTransient().getEmail()).block();
+        developerRepository.softDeleteById(john.getId()).block();
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.get()
+                .uri("/api/v1/developers/stats")
+                .exchange();
+        //then
+        result.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.total").isEqualTo(3)
+                .jsonPath("$.byStatus.ACTIVE").isEqualTo(1)
+                .jsonPath("$.byStatus.DELETED").isEqualTo(2)
+                .jsonPath("$.bySpecialty.Java.ACTIVE").isEqualTo(1)
+                .jsonPath("$.bySpecialty.Java.DELETED").isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Test get active developers by specialty with selected fields functionality")
+    void givenFields_whenGetAllBySpecialty_thenOnlySelectedFieldsAreReturned() {
+        //given
+        developerRepository.saveAll(List.of(
+                DataUtils.getJohnDoeTransient(),
+                DataUtils.getMikeSmithTransient(),
+                DataUtils.getFrankJonesTransient())).blockLast();
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.get()
+                .uri("/api/v1/developers/specialty/Java?fields=firstName,email")
+                .exchange();
+        //then
+        result.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].id").isNotEmpty()
+                .jsonPath("$[0].firstName").isNotEmpty()
+                .jsonPath("$[0].email").isNotEmpty()
+                .jsonPath("$[0].lastName").doesNotExist()
+                .jsonPath("$[0].status").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Test get active developers by specialty with unknown field functionality")
+    void givenUnknownField_whenGetAllBySpecialty_thenExceptionIsThrown() {
+        //given
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.get()
+                .uri("/api/v1/developers/specialty/Java?fields=password")
+                .exchange();
+        //then
+        result.expectStatus().isBadRequest()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.errorCode").isEqualTo("INVALID_REQUEST_PARAMETER");
+    }
+
+    @Test
+    @DisplayName("Test get active developers by specialty conditional GET functionality")
+    void givenUnchangedList_whenGetAllBySpecialtyWithETag_thenNotModifiedIsReturned() {
+        //given
+        developerRepository.saveAll(List.of(
+                DataUtils.getJohnDoeTransient(),
+                DataUtils.getMikeSmithTransient())).blockLast();
+        String eTag = webTestClient.get()
+                .uri("/api/v1/developers/specialty/Java")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.LAST_MODIFIED)
+                .returnResult(DeveloperDto.class)
+                .getResponseHeaders()
+                .getETag();
+        //when
+        WebTestClient.ResponseSpec unchanged = webTestClient.get()
+                .uri("/api/v1/developers/specialty/Java")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange();
+        DeveloperEntity mike = developerRepository.findByEmail(DataUtils.getMikeSmithTransient().getEmail()).block();
+        developerRepository.softDeleteById(mike.getId()).block();
+        WebTestClient.ResponseSpec changed = webTestClient.get()
+                .uri("/api/v1/developers/specialty/Java")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange();
+        //then
+        unchanged.expectStatus().isNotModified()
+                .expectBody().isEmpty();
+        changed.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test get active developers by specialty with If-Modified-Since after a removal functionality")
+    void givenRemovedDeveloper_whenGetAllBySpecialtyIfModifiedSince_thenListIsReturned() {
+        //given
+        developerRepository.saveAll(List.of(
+                DataUtils.getJohnDoeTransient(),
+                DataUtils.getMikeSmithTransient())).blockLast();
+        DeveloperEntity mike = developerRepository.findByEmail(DataUtils.getMikeSmithTransient().getEmail()).block();
+        developerRepository.softDeleteById(mike.getId()).block();
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.get()
+                .uri("/api/v1/developers/specialty/Java")
+                .header(HttpHeaders.IF_MODIFIED_SINCE, "Fri, 01 Jan 2100 00:00:00 GMT")
+                .exchange();
+        //then
+        result.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test get active developers by specialty after an in-place change functionality")
+    void givenChangedDeveloperWithSameCount_whenGetAllBySpecialtyWithETag_thenListIsReturned() {
+        //given
+        DeveloperEntity john = developerRepository.save(DataUtils.getJohnDoeTransient()).block();
+        developerRepository.save(DataUtils.getMikeSmithTransient()).block();
+        String eTag = webTestClient.get()
+                .uri("/api/v1/developers/specialty/Java")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(DeveloperDto.class)
+                .getResponseHeaders()
+                .getETag();
+        DeveloperDto changes = new DeveloperDto();
+        changes.setLastName("Dough");
+        webTestClient.patch()
+                .uri("/api/v1/developers/" + john.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(changes), DeveloperDto.class)
+                .exchange()
+                .expectStatus().isOk();
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.get()
+                .uri("/api/v1/developers/specialty/Java")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange();
+        //then
+        result.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[?(@.lastName == 'Dough')]").exists();
+    }
+
+    @Test
+    @DisplayName("Test patch developer returns the stored row functionality")
+    void givenChanges_whenPatchDeveloper_thenResponseMatchesStoredRow() {
+        //given
+        DeveloperEntity john = developerRepository.save(DataUtils.getJohnDoeTransient()).block();
+        DeveloperDto changes = new DeveloperDto();
+        changes.setSpecialty("Kotlin");
+        //when
+        DeveloperDto patched = webTestClient.patch()
+                .uri("/api/v1/developers/" + john.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(changes), DeveloperDto.class)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.LAST_MODIFIED)
+                .expectBody(DeveloperDto.class)
+                .returnResult()
+                .getResponseBody();
+        //then
+        DeveloperEntity stored = developerRepository.findById(john.getId()).block();
+        assertThat(patched).isNotNull();
+        assertThat(patched.getSpecialty()).isEqualTo("Kotlin");
+        assertThat(patched.getVersion()).isEqualTo(stored.getVersion());
+        assertThat(patched.getUpdatedAt()).isEqualTo(stored.getUpdatedAt());
+    }
+
+    @Test
+    @DisplayName("Test create developer with repeated idempotency key functionality")
+    void givenRepeatedIdempotencyKey_whenCreateDeveloper_thenStoredResponseIsReturned() {
+        //given
+        DeveloperDto dto = DataUtils.getJohnDoeDtoTransient();
+        String idempotencyKey = "create-john-doe";
+        Integer firstId = webTestClient.post()
+                .uri("/api/v1/developers")
+                .header(DeveloperControllerV1.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(dto), DeveloperDto.class)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(DeveloperDto.class)
+                .returnResult()
+                .getResponseBody()
+                .getId();
+        //when
+        WebTestClient.ResponseSpec repeated = webTestClient.post()
+                .uri("/api/v1/developers")
+                .header(DeveloperControllerV1.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(dto), DeveloperDto.class)
+                .exchange();
+        dto.setFirstName("Johnny");
+        WebTestClient.ResponseSpec reused = webTestClient.post()
+                .uri("/api/v1/developers")
+                .header(DeveloperControllerV1.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(dto), DeveloperDto.class)
+                .exchange();
+        //then
+        repeated.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.id").isEqualTo(firstId);
+        reused.expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY)
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.errorCode").isEqualTo("IDEMPOTENCY_KEY_REUSED");
+        assertThat(developerRepository.count().block()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test update developer with repeated idempotency key functionality")
+    void givenRepeatedIdempotencyKey_whenUpdateDeveloper_thenUpdateIsAppliedOnce() {
+        //given
+        DeveloperEntity entity = developerRepository.save(DataUtils.getJohnDoeTransient()).block();
+        Long version = developerRepository.findById(entity.getId()).block().getVersion();
+        DeveloperDto dto = DataUtils.getJohnDoeDtoPersisted();
+        dto.setId(entity.getId());
+        dto.setSpecialty("Kotlin");
+        String idempotencyKey = "update-john-doe";
+        DeveloperDto first = webTestClient.put()
+                .uri("/api/v1/developers")
+                .header(DeveloperControllerV1.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(dto), DeveloperDto.class)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(DeveloperDto.class)
+                .returnResult()
+                .getResponseBody();
+        //when
+        WebTestClient.ResponseSpec repeated = webTestClient.put()
+                .uri("/api/v1/developers")
+                .header(DeveloperControllerV1.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(dto), DeveloperDto.class)
+                .exchange();
+        //then
+        repeated.expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + first.getVersion() + "\"")
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.specialty").isEqualTo("Kotlin")
+                .jsonPath("$.version").isEqualTo(first.getVersion().intValue());
+        assertThat(first.getVersion()).isEqualTo(version + 1);
+        assertThat(developerRepository.findById(entity.getId()).block().getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    @DisplayName("Test create developer while the same idempotency key is in progress functionality")
+    void givenKeyClaimedByAnotherInstance_whenCreateDeveloper_thenConflictIsReturned() throws Exception {
+        //given
+        DeveloperDto dto = DataUtils.getJohnDoeDtoTransient();
+        String idempotencyKey = "create-john-doe-in-progress";
+        String requestHash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(dto)));
+        databaseClient.sql("""
+                        INSERT INTO idempotency_keys (idempotency_key, operation, request_hash, expires_at)
+                        VALUES (:key, 'createDeveloper', :requestHash, now() + interval '1 hour')
+                        """)
+                .bind("key", idempotencyKey)
+                .bind("requestHash", requestHash)
+                .then()
+                .block();
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.post()
+                .uri("/api/v1/developers")
+                .header(DeveloperControllerV1.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(dto), DeveloperDto.class)
+                .exchange();
+        //then
+        result.expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.errorCode").isEqualTo("IDEMPOTENCY_REQUEST_IN_PROGRESS");
+        assertThat(developerRepository.count().block()).isZero();
+    }
 }
@@ -0,0 +1,81 @@
+package com.fallt.qafordevs_reactive.it;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItDeveloperMigrationTest {
+
+    // A container of its own, so the schema can be migrated step by step with data seeded in between
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:latest");
+
+    @BeforeAll
+    static void startContainer() {
+        postgres.start();
+    }
+
+    @AfterAll
+    static void stopContainer() {
+        postgres.stop();
+    }
+
+    private static Flyway flyway(String target) {
+        return Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .target(target)
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load();
+    }
+
+    @Test
+    @DisplayName("Test duplicate emails are moved aside before the unique email index is built")
+    void givenCaseVariantDuplicateEmails_whenMigrate_thenOldestRowIsKeptAndIndexIsBuilt() throws SQLException {
+        //given
+        flyway("1").migrate();
+        execute("INSERT INTO developers (email, first_name, last_name, specialty, status) VALUES "
+                + "('john.doe@gmail.com', 'John', 'Doe', 'Java', 'ACTIVE'), "
+                + "('John.Doe@gmail.com', 'Johnny', 'Doe', 'Java', 'ACTIVE'), "
+                + "('john.doe@gmail.com', 'Jon', 'Doe', 'Java', 'DELETED'), "
+                + "('mike.smith@gmail.com', 'Mike', 'Smith', 'Java', 'ACTIVE')");
+        //when
+        flyway("latest").migrate();
+        //then
+        assertThat(query("SELECT first_name FROM developers ORDER BY id")).containsExactly("John", "Mike");
+        assertThat(query("SELECT first_name FROM developers_email_duplicates ORDER BY id")).containsExactly("Johnny", "Jon");
+        assertThat(query("SELECT indexname FROM pg_indexes WHERE tablename = 'developers'"))
+                .contains("developers_email_lower_uindex", "developers_active_specialty_index");
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static List<String> query(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            List<String> values = new ArrayList<>();
+            while (resultSet.next()) {
+                values.add(resultSet.getString(1));
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.fallt.qafordevs_reactive.it;
+
+import com.fallt.qafordevs_reactive.config.PostgreTestcontainerConfig;
+import com.fallt.qafordevs_reactive.dto.DeveloperOutboxEventDto;
+import com.fallt.qafordevs_reactive.entity.ChangeType;
+import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
+import com.fallt.qafordevs_reactive.entity.DeveloperOutboxEntity;
+import com.fallt.qafordevs_reactive.exception.DeveloperWithEmailAlreadyExistsException;
+import com.fallt.qafordevs_reactive.repository.DeveloperOutboxRepository;
+import com.fallt.qafordevs_reactive.repository.DeveloperRepository;
+import com.fallt.qafordevs_reactive.service.DeveloperOutboxRelay;
+import com.fallt.qafordevs_reactive.service.DeveloperService;
+import com.fallt.qafordevs_reactive.service.InMemoryOutboxEventPublisher;
+import com.fallt.qafordevs_reactive.util.DataUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "developers.outbox.relay-enabled=false")
+@Import(PostgreTestcontainerConfig.class)
+class ItDeveloperOutboxTest {
+
+    @Autowired
+    private DeveloperService developerService;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private DeveloperOutboxRepository developerOutboxRepository;
+
+    @Autowired
+    private DeveloperOutboxRelay developerOutboxRelay;
+
+    @Autowired
+    private InMemoryOutboxEventPublisher publisher;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    public void setUp() {
+        developerRepository.deleteAll().block();
+        databaseClient.sql("DELETE FROM developer_outbox").then().block();
+    }
+
+    @Test
+    @DisplayName("Test outbox event is written with the change and relayed to the publisher")
+    void givenCreatedDeveloper_whenDrain_thenEventIsPublishedAndRemoved() {
+        //given
+        DeveloperEntity created = developerService.createDeveloper(DataUtils.getJohnDoeTransient()).block();
+        assertThat(outboxSize()).isEqualTo(1);
+        //when
+        Long published = developerOutboxRelay.drain().block();
+        //then
+        assertThat(published).isEqualTo(1);
+        assertThat(outboxSize()).isZero();
+        List<DeveloperOutboxEventDto> events = publisher.getPublished().stream()
+                .filter(event -> created.getId().equals(event.getDeveloperId()))
+                .toList();
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getType()).isEqualTo(ChangeType.CREATED);
+        assertThat(events.get(0).getDeveloper()).contains("\"email\":\"" + created.getEmail() + "\"");
+    }
+
+    @Test
+    @DisplayName("Test failed change leaves no outbox event")
+    void givenDuplicateEmail_whenCreateDeveloper_thenNoEventIsWritten() {
+        //given
+        developerRepository.save(DataUtils.getJohnDoeTransient()).block();
+        //when
+        StepVerifier.create(developerService.createDeveloper(DataUtils.getJohnDoeTransient()))
+                //then
+                .expectError(DeveloperWithEmailAlreadyExistsException.class)
+                .verify();
+        assertThat(outboxSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Test concurrent relays claim disjoint outbox batches")
+    void givenClaimedBatch_whenClaimBatchAgain_thenLeasedEventsAreSkipped() {
+        //given
+        Flux.range(0, 3)
+                .map(DataUtils::getDeveloperTransient)
+                .concatMap(developerService::createDeveloper)
+                .blockLast();
+        //when
+        List<DeveloperOutboxEntity> first = developerOutboxRepository.claimBatch(2, Duration.ofMinutes(1)).collectList().block();
+        List<DeveloperOutboxEntity> second = developerOutboxRepository.claimBatch(10, Duration.ofMinutes(1)).collectList().block();
+        //then
+        assertThat(first).hasSize(2);
+        assertThat(first.get(0).getId()).isLessThan(first.get(1).getId());
+        assertThat(second).hasSize(1);
+        assertThat(second.get(0).getId()).isNotIn(first.stream().map(DeveloperOutboxEntity::getId).toList());
+        assertThat(developerOutboxRepository.claimBatch(10, Duration.ofMinutes(1)).collectList().block()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test rescheduled event backs off and is dead-lettered after the last attempt")
+    void givenFailingEvent_whenReschedule_thenItBacksOffAndIsDeadLettered() {
+        //given
+        developerService.createDeveloper(DataUtils.getJohnDoeTransient()).block();
+        Long id = developerOutboxRepository.claimBatch(1, Duration.ZERO).blockFirst().getId();
+        databaseClient.sql("UPDATE developer_outbox SET attempts = 5000 WHERE id = :id").bind("id", id).then().block();
+        //when
+        developerOutboxRepository.reschedule(new Long[]{id}, Duration.ofSeconds(1), Duration.ofMinutes(5), 10_000).block();
+        Map<String, Object> backedOff = outboxRow(id);
+        developerOutboxRepository.reschedule(new Long[]{id}, Duration.ZERO, Duration.ZERO, 5002).block();
+        Map<String, Object> deadLettered = outboxRow(id);
+        //then
+        assertThat(backedOff.get("attempts")).isEqualTo(5001);
+        assertThat(backedOff.get("dead_lettered_at")).isNull();
+        assertThat((Boolean) backedOff.get("backed_off")).isTrue();
+        assertThat(deadLettered.get("attempts")).isEqualTo(5002);
+        assertThat(deadLettered.get("dead_lettered_at")).isNotNull();
+        assertThat(developerOutboxRepository.claimBatch(10, Duration.ZERO).collectList().block()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test postponed event is delayed without counting an attempt")
+    void givenUnavailablePublisher_whenPostpone_thenEventIsDelayedAndAttemptsAreUnchanged() {
+        //given
+        developerService.createDeveloper(DataUtils.getJohnDoeTransient()).block();
+        Long id = developerOutboxRepository.claimBatch(1, Duration.ZERO).blockFirst().getId();
+        //when
+        developerOutboxRepository.postpone(new Long[]{id}, Duration.ofMinutes(5)).block();
+        Map<String, Object> postponed = outboxRow(id);
+        //then
+        assertThat(postponed.get("attempts")).isEqualTo(0);
+        assertThat(postponed.get("dead_lettered_at")).isNull();
+        assertThat((Boolean) postponed.get("backed_off")).isTrue();
+        assertThat(developerOutboxRepository.claimBatch(10, Duration.ZERO).collectList().block()).isEmpty();
+    }
+
+    private Map<String, Object> outboxRow(Long id) {
+        return databaseClient.sql("""
+                        SELECT attempts, dead_lettered_at, next_attempt_at > now() + interval '4 minutes' AS backed_off
+                        FROM developer_outbox WHERE id = :id
+                        """)
+                .bind("id", id)
+                .fetch()
+                .one()
+                .block();
+    }
+
+    private Long outboxSize() {
+        return databaseClient.sql("SELECT count(*) AS count FROM developer_outbox")
+                .map(row -> row.get("count", Long.class))
+                .one()
+                .block();
+    }
+}
@@ -0,0 +1,120 @@
+package com.fallt.qafordevs_reactive.it;
+
+import com.fallt.qafordevs_reactive.config.PostgreTestcontainerConfig;
+import com.fallt.qafordevs_reactive.repository.DeveloperRepository;
+import com.fallt.qafordevs_reactive.util.DataUtils;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Statement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(PostgreTestcontainerConfig.class)
+class ItDeveloperQueryPlanTest {
+
+    private static final Pattern NAMED_PARAMETER = Pattern.compile("(?<!:):(\\w+)");
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @BeforeEach
+    public void setUp() {
+        developerRepository.deleteAll().block();
+        developerRepository.saveAll(List.of(
+                DataUtils.getJohnDoeTransient(),
+                DataUtils.getMikeSmithTransient(),
+                DataUtils.getFrankJonesTransient())).blockLast();
+    }
+
+    @Test
+    @DisplayName("Test find by email uses lower(email) index")
+    void givenEmailLookup_whenExplain_thenEmailIndexIsUsed() {
+        //given
+        String query = "SELECT * FROM developers WHERE lower(email) = lower('john.doe@gmail.com')";
+        //when
+        String plan = explain(query);
+        //then
+        assertThat(plan).contains("developers_email_lower_uindex");
+    }
+
+    @Test
+    @DisplayName("Test find active by specialty uses partial specialty index")
+    void givenActiveSpecialtyLookup_whenExplain_thenSpecialtyIndexIsUsed() {
+        //given
+        String query = "SELECT * FROM developers WHERE status = 'ACTIVE' AND specialty = 'Java'";
+        //when
+        String plan = explain(query);
+        //then
+        assertThat(plan).contains("developers_active_specialty_index");
+    }
+
+    @Test
+    @DisplayName("Test search by name fragment is bounded by the trigram index")
+    void givenSearchFragment_whenExplainRepositoryQuery_thenTrigramIndexOrdersTheScan() {
+        //given
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("pattern", "%doe%");
+        parameters.put("query", "doe");
+        parameters.put("limit", 20);
+        //when
+        String plan = explain(DeveloperRepository.SEARCH, parameters);
+        //then
+        assertThat(plan).contains("developers_search_text_trgm_gist_index");
+        assertThat(plan).contains("Order By: (lower(");
+    }
+
+    private String explain(String query) {
+        return explain(query, Map.of());
+    }
+
+    // Named parameters are rewritten to positional ones so the statement is planned as the repository sends it
+    private String explain(String query, Map<String, Object> parameters) {
+        List<Object> values = new ArrayList<>();
+        Matcher matcher = NAMED_PARAMETER.matcher(query);
+        StringBuilder sql = new StringBuilder("EXPLAIN ");
+        while (matcher.find()) {
+            values.add(parameters.get(matcher.group(1)));
+            matcher.appendReplacement(sql, "\\$" + values.size());
+        }
+        matcher.appendTail(sql);
+        return Mono.usingWhen(connectionFactory.create(),
+                        connection -> execute(connection, "SET enable_seqscan = off")
+                                .thenMany(Flux.defer(() -> {
+                                    Statement statement = connection.createStatement(sql.toString());
+                                    for (int i = 0; i < values.size(); i++) {
+                                        statement.bind(i, values.get(i));
+                                    }
+                                    return Flux.from(statement.execute());
+                                }))
+                                .flatMap(result -> result.map((row, metadata) -> row.get(0, String.class)))
+                                .collectList()
+                                .map(lines -> String.join("\n", lines)),
+                        Connection::close)
+                .block();
+    }
+
+    private Mono<Void> execute(Connection connection, String sql) {
+        return Flux.from(connection.createStatement(sql).execute())
+                .flatMap(result -> result.getRowsUpdated())
+                .then();
+    }
+}
@@ -0,0 +1,135 @@
+package com.fallt.qafordevs_reactive.it;
+
+import com.fallt.qafordevs_reactive.config.PostgreTestcontainerConfig;
+import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
+import com.fallt.qafordevs_reactive.entity.DeveloperStatsEntity;
+import com.fallt.qafordevs_reactive.repository.DeveloperRepository;
+import com.fallt.qafordevs_reactive.util.DataUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(PostgreTestcontainerConfig.class)
+class ItDeveloperRepositoryTest {
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @BeforeEach
+    public void setUp() {
+        developerRepository.deleteAll().block();
+    }
+
+    @Test
+    @DisplayName("Test insert if email absent functionality")
+    void givenNewEmail_whenInsertIfEmailAbsent_thenDeveloperIsReturned() {
+        //given
+        DeveloperEntity developer = DataUtils.getJohnDoeTransient();
+        //when
+        StepVerifier.create(developerRepository.insertIfEmailAbsent(developer))
+                //then
+                .assertNext(created -> {
+                    assertThat(created.getId()).isNotNull();
+                    assertThat(created.getEmail()).isEqualTo(developer.getEmail());
+                    assertThat(created.getVersion()).isNotNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test insert if email absent with duplicate email functionality")
+    void givenExistingEmail_whenInsertIfEmailAbsent_thenEmpty() {
+        //given
+        developerRepository.save(DataUtils.getJohnDoeTransient()).block();
+        //when
+        StepVerifier.create(developerRepository.insertIfEmailAbsent(DataUtils.getJohnDoeTransient()))
+                //then
+                .verifyComplete();
+        assertThat(developerRepository.count().block()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test insert if email absent with duplicate email in another case functionality")
+    void givenExistingEmailInAnotherCase_whenInsertIfEmailAbsent_thenEmpty() {
+        //given
+        developerRepository.save(DataUtils.getJohnDoeTransient()).block();
+        DeveloperEntity developer = DataUtils.getJohnDoeTransient();
+        developer.setEmail(developer.getEmail().toUpperCase(Locale.ROOT));
+        //when
+        StepVerifier.create(developerRepository.insertIfEmailAbsent(developer))
+                //then
+                .verifyComplete();
+        assertThat(developerRepository.count().block()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test insert all if email absent maps one result per input functionality")
+    void givenChunkWithRepeatedAndExistingEmails_whenInsertAllIfEmailAbsent_thenOneResultPerInputInOrder() {
+        //given
+        developerRepository.save(DataUtils.getMikeSmithTransient()).block();
+        DeveloperEntity repeated = DataUtils.getJohnDoeTransient();
+        repeated.setFirstName("Johnny");
+        List<DeveloperEntity> chunk = List.of(
+                DataUtils.getJohnDoeTransient(),
+                DataUtils.getMikeSmithTransient(),
+                repeated,
+                DataUtils.getFrankJonesTransient());
+        //when
+        List<Optional<DeveloperEntity>> results = developerRepository.insertAllIfEmailAbsent(chunk)
+                .collectList()
+                .block();
+        //then
+        assertThat(results).hasSize(4);
+        assertThat(results.get(0)).hasValueSatisfying(created -> {
+            assertThat(created.getId()).isNotNull();
+            assertThat(created.getFirstName()).isEqualTo("John");
+        });
+        assertThat(results.get(1)).isEmpty();
+        assertThat(results.get(2)).isEmpty();
+        assertThat(results.get(3)).hasValueSatisfying(created ->
+                assertThat(created.getEmail()).isEqualTo(DataUtils.getFrankJonesTransient().getEmail()));
+        assertThat(developerRepository.count().block()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Test stats stay exact under concurrent writers on sharded rows functionality")
+    void givenConcurrentInsertsAndDeletes_whenFindStats_thenShardsSumToExactCounts() {
+        //given
+        List<DeveloperEntity> created = Flux.range(0, 60)
+                .map(DataUtils::getDeveloperTransient)
+                .flatMap(developerRepository::save, 16)
+                .collectList()
+                .block();
+        //when
+        Flux.fromIterable(created)
+                .filter(developer -> developer.getId() % 3 == 0)
+                .flatMap(developer -> developerRepository.softDeleteById(developer.getId()), 16)
+                .blockLast();
+        Flux.fromIterable(created)
+                .filter(developer -> developer.getId() % 3 == 1)
+                .flatMap(developer -> developerRepository.deleteById(developer.getId()), 16)
+                .blockLast();
+        //then
+        Map<String, Long> expected = developerRepository.findAll()
+                .collect(Collectors.groupingBy(developer -> developer.getSpecialty() + "/" + developer.getStatus(), Collectors.counting()))
+                .block();
+        Map<String, Long> stats = developerRepository.findStats()
+                .collectMap(row -> row.getSpecialty() + "/" + row.getStatus(), DeveloperStatsEntity::getCount)
+                .block();
+        assertThat(stats).isEqualTo(expected);
+    }
+}
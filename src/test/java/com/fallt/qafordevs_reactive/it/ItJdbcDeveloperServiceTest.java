@@ -0,0 +1,231 @@
+package com.fallt.qafordevs_reactive.it;
+
+import com.fallt.qafordevs_reactive.config.PostgreTestcontainerConfig;
+import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
+import com.fallt.qafordevs_reactive.entity.DeveloperStatsEntity;
+import com.fallt.qafordevs_reactive.entity.Status;
+import com.fallt.qafordevs_reactive.exception.DeveloperNotFoundException;
+import com.fallt.qafordevs_reactive.exception.DeveloperVersionConflictException;
+import com.fallt.qafordevs_reactive.exception.DeveloperWithEmailAlreadyExistsException;
+import com.fallt.qafordevs_reactive.repository.DeveloperRepository;
+import com.fallt.qafordevs_reactive.service.DeveloperService;
+import com.fallt.qafordevs_reactive.service.JdbcDeveloperServiceImpl;
+import com.fallt.qafordevs_reactive.util.DataUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// The relay is off so the outbox rows written by each call stay in place to be checked
+@SpringBootTest(properties = {"developers.backend=jdbc", "developers.outbox.relay-enabled=false"})
+@Import(PostgreTestcontainerConfig.class)
+class ItJdbcDeveloperServiceTest {
+
+    @Autowired
+    private DeveloperService developerService;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    public void setUp() {
+        developerRepository.deleteAll().block();
+        databaseClient.sql("DELETE FROM developer_outbox").then().block();
+    }
+
+    private DeveloperEntity create(DeveloperEntity developer) {
+        return developerService.createDeveloper(developer).block();
+    }
+
+    private List<String> outboxEvents(Integer developerId) {
+        return databaseClient.sql("SELECT event_type FROM developer_outbox WHERE developer_id = :id ORDER BY id")
+                .bind("id", developerId)
+                .map((row, metadata) -> row.get("event_type", String.class))
+                .all()
+                .collectList()
+                .block();
+    }
+
+    @Test
+    @DisplayName("Test jdbc backend is the active developer service")
+    void givenJdbcBackend_whenContextStarts_thenJdbcServiceIsUsed() {
+        //given
+        //when
+        //then
+        assertThat(developerService).isInstanceOf(JdbcDeveloperServiceImpl.class);
+    }
+
+    @Test
+    @DisplayName("Test create developer writes the row and a CREATED outbox event")
+    void givenNewDeveloper_whenCreateDeveloper_thenRowAndOutboxEventAreWritten() {
+        //given
+        //when
+        DeveloperEntity created = create(DataUtils.getJohnDoeTransient());
+        //then
+        assertThat(created.getId()).isNotNull();
+        assertThat(created.getStatus()).isEqualTo(Status.ACTIVE);
+        assertThat(outboxEvents(created.getId())).containsExactly("CREATED");
+        StepVerifier.create(developerService.createDeveloper(DataUtils.getJohnDoeTransient()))
+                .expectError(DeveloperWithEmailAlreadyExistsException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Test batch create returns one result per input and outbox events for created rows only")
+    void givenChunkWithDuplicate_whenCreateDevelopers_thenResultsAndOutboxEventsMatch() {
+        //given
+        create(DataUtils.getMikeSmithTransient());
+        //when
+        List<Optional<DeveloperEntity>> results = developerService.createDevelopers(Flux.just(
+                        DataUtils.getJohnDoeTransient(),
+                        DataUtils.getMikeSmithTransient(),
+                        DataUtils.getFrankJonesTransient()))
+                .collectList()
+                .block();
+        //then
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0)).isPresent();
+        assertThat(results.get(1)).isEmpty();
+        assertThat(results.get(2)).hasValueSatisfying(created -> assertThat(created.getStatus()).isEqualTo(Status.ACTIVE));
+        assertThat(developerRepository.count().block()).isEqualTo(3);
+        assertThat(outboxEvents(results.get(0).get().getId())).containsExactly("CREATED");
+        assertThat(outboxEvents(results.get(2).get().getId())).containsExactly("CREATED");
+    }
+
+    @Test
+    @DisplayName("Test update developer with another developer's email is rejected")
+    void givenTakenEmail_whenUpdateDeveloper_thenDuplicateEmailErrorIsReturned() {
+        //given
+        DeveloperEntity john = create(DataUtils.getJohnDoeTransient());
+        create(DataUtils.getMikeSmithTransient());
+        john.setEmail(DataUtils.getMikeSmithTransient().getEmail());
+        //when
+        //then
+        StepVerifier.create(developerService.updateDeveloper(john))
+                .expectError(DeveloperWithEmailAlreadyExistsException.class)
+                .verify();
+        assertThat(outboxEvents(john.getId())).containsExactly("CREATED");
+    }
+
+    @Test
+    @DisplayName("Test patch developer returns the written row and appends an UPDATED outbox event")
+    void givenChanges_whenPatchDeveloper_thenWrittenRowIsReturned() {
+        //given
+        DeveloperEntity john = create(DataUtils.getJohnDoeTransient());
+        //when
+        DeveloperEntity patched = developerService.patchDeveloper(john.getId(), DeveloperEntity.builder().specialty("Kotlin").build())
+                .block();
+        //then
+        DeveloperEntity stored = developerRepository.findById(john.getId()).block();
+        assertThat(patched.getSpecialty()).isEqualTo("Kotlin");
+        assertThat(patched.getFirstName()).isEqualTo("John");
+        assertThat(patched.getVersion()).isEqualTo(john.getVersion() + 1);
+        assertThat(patched.getVersion()).isEqualTo(stored.getVersion());
+        assertThat(patched.getUpdatedAt()).isEqualTo(stored.getUpdatedAt());
+        assertThat(outboxEvents(john.getId())).containsExactly("CREATED", "UPDATED");
+    }
+
+    @Test
+    @DisplayName("Test patch developer with a stale version is rejected")
+    void givenStaleVersion_whenPatchDeveloper_thenVersionConflictIsReturned() {
+        //given
+        DeveloperEntity john = create(DataUtils.getJohnDoeTransient());
+        developerService.patchDeveloper(john.getId(), DeveloperEntity.builder().specialty("Kotlin").build()).block();
+        //when
+        //then
+        StepVerifier.create(developerService.patchDeveloper(john.getId(),
+                        DeveloperEntity.builder().specialty("Scala").version(john.getVersion()).build()))
+                .expectError(DeveloperVersionConflictException.class)
+                .verify();
+        assertThat(developerRepository.findById(john.getId()).block().getSpecialty()).isEqualTo("Kotlin");
+    }
+
+    @Test
+    @DisplayName("Test soft delete marks the developer deleted and appends a SOFT_DELETED outbox event")
+    void givenDeveloper_whenSoftDeleteById_thenStatusIsDeleted() {
+        //given
+        DeveloperEntity john = create(DataUtils.getJohnDoeTransient());
+        //when
+        developerService.softDeleteById(john.getId()).block();
+        //then
+        assertThat(developerRepository.findById(john.getId()).block().getStatus()).isEqualTo(Status.DELETED);
+        assertThat(developerService.getAllActiveBySpecialty("Java", List.of()).collectList().block()).isEmpty();
+        assertThat(outboxEvents(john.getId())).containsExactly("CREATED", "SOFT_DELETED");
+    }
+
+    @Test
+    @DisplayName("Test hard delete removes the developer and appends a HARD_DELETED outbox event")
+    void givenDeveloper_whenHardDeleteById_thenRowIsRemoved() {
+        //given
+        DeveloperEntity john = create(DataUtils.getJohnDoeTransient());
+        //when
+        developerService.hardDeleteById(john.getId()).block();
+        //then
+        assertThat(developerRepository.existsById(john.getId()).block()).isFalse();
+        assertThat(outboxEvents(john.getId())).containsExactly("CREATED", "HARD_DELETED");
+        StepVerifier.create(developerService.getById(john.getId()))
+                .expectError(DeveloperNotFoundException.class)
+                .verify();
+        StepVerifier.create(developerService.hardDeleteById(john.getId()))
+                .expectError(DeveloperNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Test search ranks the closest match first")
+    void givenDevelopers_whenSearchDevelopers_thenClosestMatchIsFirst() {
+        //given
+        create(DataUtils.getJohnDoeTransient());
+        create(DataUtils.getMikeSmithTransient());
+        //when
+        List<DeveloperEntity> found = developerService.searchDevelopers("john", 10).collectList().block();
+        //then
+        assertThat(found).isNotEmpty();
+        assertThat(found.get(0).getEmail()).isEqualTo(DataUtils.getJohnDoeTransient().getEmail());
+    }
+
+    @Test
+    @DisplayName("Test stats count developers per specialty and status")
+    void givenActiveAndDeletedDevelopers_whenGetStats_thenCountsMatch() {
+        //given
+        create(DataUtils.getJohnDoeTransient());
+        DeveloperEntity mike = create(DataUtils.getMikeSmithTransient());
+        developerService.softDeleteById(mike.getId()).block();
+        //when
+        List<DeveloperStatsEntity> stats = developerService.getStats().collectList().block();
+        //then
+        assertThat(stats)
+                .extracting(DeveloperStatsEntity::getSpecialty, DeveloperStatsEntity::getStatus, DeveloperStatsEntity::getCount)
+                .containsExactlyInAnyOrder(
+                        tuple("Java", "ACTIVE", 1L),
+                        tuple("Java", "DELETED", 1L));
+    }
+
+    @Test
+    @DisplayName("Test get by ids keeps the requested order and skips unknown ids")
+    void givenIdsWithUnknown_whenGetByIds_thenKnownDevelopersAreReturnedInOrder() {
+        //given
+        DeveloperEntity john = create(DataUtils.getJohnDoeTransient());
+        DeveloperEntity mike = create(DataUtils.getMikeSmithTransient());
+        //when
+        List<DeveloperEntity> found = developerService.getByIds(List.of(mike.getId(), Integer.MAX_VALUE, john.getId()))
+                .collectList()
+                .block();
+        //then
+        assertThat(found).extracting(DeveloperEntity::getId).containsExactly(mike.getId(), john.getId());
+    }
+}
@@ -0,0 +1,138 @@
+package com.fallt.qafordevs_reactive.it;
+
+import com.fallt.qafordevs_reactive.config.PostgreTestcontainerConfig;
+import com.fallt.qafordevs_reactive.repository.DeveloperRepository;
+import com.fallt.qafordevs_reactive.util.DataUtils;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@Import(PostgreTestcontainerConfig.class)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ItReadReplicaRoutingTest {
+
+    private static final String READ_YOUR_WRITES_HEADER = "X-Read-Your-Writes";
+
+    // A second, independent instance stands in for the replica; rows written only there prove where reads went
+    private static final PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:latest");
+
+    static {
+        replica.start();
+        Flyway.configure()
+                .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+    }
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("developers.routing.replicas[0].url", () -> "r2dbc:postgresql://%s:%d/%s".formatted(
+                replica.getHost(), replica.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), replica.getDatabaseName()));
+        registry.add("developers.routing.replicas[0].username", replica::getUsername);
+        registry.add("developers.routing.replicas[0].password", replica::getPassword);
+        registry.add("developers.routing.health-check-interval", () -> "200ms");
+    }
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        developerRepository.deleteAll().block();
+        executeOnReplica("DELETE FROM developers");
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Test read-only queries are routed to the replica")
+    void givenRowOnlyOnReplica_whenGetAllBySpecialty_thenReplicaRowIsReturned() throws SQLException {
+        //given
+        developerRepository.save(DataUtils.getJohnDoeTransient()).block();
+        executeOnReplica("INSERT INTO developers (email, first_name, last_name, specialty, status) "
+                + "VALUES ('replica.only@gmail.com', 'Replica', 'Only', 'Java', 'ACTIVE')");
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.get()
+                .uri("/api/v1/developers/specialty/Java")
+                .exchange();
+        //then
+        result.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].email").isEqualTo("replica.only@gmail.com");
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Test read-your-writes header routes reads to the primary")
+    void givenReadYourWritesHeader_whenGetAllBySpecialty_thenPrimaryRowIsReturned() throws SQLException {
+        //given
+        developerRepository.save(DataUtils.getJohnDoeTransient()).block();
+        executeOnReplica("INSERT INTO developers (email, first_name, last_name, specialty, status) "
+                + "VALUES ('replica.only@gmail.com', 'Replica', 'Only', 'Java', 'ACTIVE')");
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.get()
+                .uri("/api/v1/developers/specialty/Java")
+                .header(READ_YOUR_WRITES_HEADER, "true")
+                .exchange();
+        //then
+        result.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].email").isEqualTo(DataUtils.getJohnDoeTransient().getEmail());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Test reads fail over to the primary when the replica is down")
+    void givenReplicaDown_whenGetAllBySpecialty_thenPrimaryRowIsReturned() {
+        //given
+        developerRepository.save(DataUtils.getJohnDoeTransient()).block();
+        replica.stop();
+        //when
+        WebTestClient.ResponseSpec result = webTestClient.get()
+                .uri("/api/v1/developers/specialty/Java")
+                .exchange();
+        //then
+        result.expectStatus().isOk()
+                .expectBody()
+                .consumeWith(System.out::println)
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].email").isEqualTo(DataUtils.getJohnDoeTransient().getEmail());
+    }
+
+    private static void executeOnReplica(String sql) throws SQLException {
+        if (!replica.isRunning()) {
+            return;
+        }
+        try (Connection connection = DriverManager.getConnection(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.fallt.qafordevs_reactive.it;
+
+import com.fallt.qafordevs_reactive.config.InstrumentedConnectionFactory;
+import com.fallt.qafordevs_reactive.config.ReadWriteRoutingConnectionFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItReplicaHealthCheckTest {
+
+    // Started with standby.signal and no primary_conninfo: the server is in recovery but has no WAL
+    // receiver, like a replica that lost its connection to the primary after replaying everything
+    private static final PostgreSQLContainer<?> standby = new PostgreSQLContainer<>("postgres:latest")
+            .withCopyToContainer(Transferable.of("touch \"$PGDATA/standby.signal\"\n"),
+                    "/docker-entrypoint-initdb.d/standby.sh")
+            .waitingFor(Wait.forLogMessage(".*database system is ready to accept read-only connections.*\\s", 1));
+
+    private ReadWriteRoutingConnectionFactory routingConnectionFactory;
+
+    @BeforeAll
+    static void startContainer() {
+        standby.start();
+    }
+
+    @AfterAll
+    static void stopContainer() {
+        standby.stop();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (routingConnectionFactory != null) {
+            routingConnectionFactory.dispose();
+        }
+    }
+
+    private static InstrumentedConnectionFactory pool(String name) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse("r2dbc:postgresql://%s:%d/%s".formatted(
+                        standby.getHost(), standby.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), standby.getDatabaseName()))
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, standby.getUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, standby.getPassword())
+                .build();
+        ConnectionPool connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name(name)
+                .build());
+        return new InstrumentedConnectionFactory(connectionPool, new SimpleMeterRegistry().timer(name));
+    }
+
+    @Test
+    @DisplayName("Test a replica in recovery without a streaming WAL receiver is taken out of rotation")
+    void givenReplicaNotStreaming_whenHealthCheck_thenReplicaIsMarkedDown() throws SQLException {
+        //given
+        assertThat(query("SELECT pg_is_in_recovery()::text")).isEqualTo("true");
+        assertThat(query("SELECT count(*)::text FROM pg_stat_wal_receiver")).isEqualTo("0");
+        routingConnectionFactory = new ReadWriteRoutingConnectionFactory(pool("primary"), Map.of("replica", pool("replica")));
+        //when
+        routingConnectionFactory.startHealthChecks(Duration.ofMillis(100), Duration.ofSeconds(5), Duration.ofSeconds(10));
+        //then
+        StepVerifier.create(Mono.fromCallable(routingConnectionFactory::getHealthyReplicas)
+                        .filter(List::isEmpty)
+                        .repeatWhenEmpty(repeat -> repeat.delayElements(Duration.ofMillis(100)))
+                        .timeout(Duration.ofSeconds(10)))
+                .expectNext(List.of())
+                .verifyComplete();
+    }
+
+    private static String query(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(standby.getJdbcUrl(), standby.getUsername(), standby.getPassword());
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.fallt.qafordevs_reactive.load;
+
+import com.fallt.qafordevs_reactive.config.PostgreTestcontainerConfig;
+import com.fallt.qafordevs_reactive.dto.DeveloperDto;
+import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
+import com.fallt.qafordevs_reactive.repository.DeveloperRepository;
+import com.fallt.qafordevs_reactive.util.DataUtils;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("load")
+// The filters would reject most of the generated traffic and the test would measure them instead of the backend
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"developers.rate-limit.enabled=false", "developers.load-shedding.enabled=false"})
+@Import(PostgreTestcontainerConfig.class)
+class DeveloperLoadTest {
+
+    private static final int DEVELOPERS = Integer.getInteger("load.developers", 10_000);
+
+    private static final int REQUESTS = Integer.getInteger("load.requests", 20_000);
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 64);
+
+    private static final int SEED_CHUNK_SIZE = 1_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${developers.backend}")
+    private String backend;
+
+    @Autowired
+    private DeveloperRepository developerRepository;
+
+    private List<Integer> ids;
+
+    @BeforeEach
+    public void setUp() {
+        developerRepository.deleteAll().block();
+        ids = Flux.range(0, DEVELOPERS)
+                .map(DataUtils::getDeveloperTransient)
+                .buffer(SEED_CHUNK_SIZE)
+                .concatMap(developerRepository::insertAllIfEmailAbsent)
+                .flatMapIterable(created -> created.map(DeveloperEntity::getId).stream().toList())
+                .collectList()
+                .block();
+    }
+
+    @Test
+    @DisplayName("Test mixed read/write traffic throughput and latency")
+    void givenSeededDevelopers_whenMixedTraffic_thenThroughputAndLatencyAreReported() {
+        //given
+        WebClient webClient = WebClient.create("http://localhost:" + port + "/api/v1/developers");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AtomicLong failures = new AtomicLong();
+        //when
+        long start = System.nanoTime();
+        Flux.range(0, REQUESTS)
+                .flatMap(i -> request(webClient, registry, failures), CONCURRENCY)
+                .blockLast();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        //then
+        report(registry, elapsed);
+        assertThat(failures.get()).isZero();
+    }
+
+    private Mono<Void> request(WebClient webClient, SimpleMeterRegistry registry, AtomicLong failures) {
+        int roll = ThreadLocalRandom.current().nextInt(100);
+        Integer id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        if (roll < 60) {
+            return timed(registry, failures, "GET /{id}", webClient.get().uri("/{id}", id));
+        }
+        if (roll < 75) {
+            return timed(registry, failures, "GET /", webClient.get().uri("/?size=50"));
+        }
+        if (roll < 85) {
+            return timed(registry, failures, "GET /specialty/{specialty}", webClient.get().uri("/specialty/Java"));
+        }
+        if (roll < 95) {
+            DeveloperDto dto = DataUtils.getDeveloperDtoTransient(UUID.randomUUID() + "@gmail.com");
+            return timed(registry, failures, "POST /", webClient.post().uri("").bodyValue(dto));
+        }
+        DeveloperDto dto = DataUtils.getDeveloperDtoTransient(UUID.randomUUID() + "@gmail.com");
+        dto.setId(id);
+        return timed(registry, failures, "PUT /", webClient.put().uri("").bodyValue(dto));
+    }
+
+    private Mono<Void> timed(SimpleMeterRegistry registry, AtomicLong failures, String endpoint,
+                             WebClient.RequestHeadersSpec<?> spec) {
+        Timer timer = Timer.builder("load.request")
+                .tag("endpoint", endpoint)
+                .publishPercentiles(0.5, 0.9, 0.99, 0.999)
+                .serviceLevelObjectives(Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(10),
+                        Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(500))
+                .register(registry);
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return spec.retrieve()
+                    .toBodilessEntity()
+                    .doOnError(e -> failures.incrementAndGet())
+                    .onErrorComplete()
+                    .doFinally(signal -> timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .then();
+        });
+    }
+
+    private void report(SimpleMeterRegistry registry, Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1e9;
+        System.out.printf("%s backend: %d requests, concurrency %d, %d seeded developers, %.1f s, %.0f req/s%n",
+                backend, REQUESTS, CONCURRENCY, DEVELOPERS, seconds, REQUESTS / seconds);
+        registry.find("load.request").timers().forEach(timer -> {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            StringBuilder line = new StringBuilder(String.format("%-28s %7d req %8.0f req/s  mean %7.2f ms",
+                    timer.getId().getTag("endpoint"), snapshot.count(), snapshot.count() / seconds,
+                    snapshot.mean(TimeUnit.MILLISECONDS)));
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                line.append(String.format("  p%s %7.2f ms", percentile.percentile() * 100, percentile.value(TimeUnit.MILLISECONDS)));
+            }
+            for (CountAtBucket bucket : snapshot.histogramCounts()) {
+                line.append(String.format("  <=%.0fms %.0f", bucket.bucket(TimeUnit.MILLISECONDS), bucket.count()));
+            }
+            System.out.println(line);
+        });
+    }
+}
@@ -0,0 +1,12 @@
+package com.fallt.qafordevs_reactive.load;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Replays the {@link DeveloperLoadTest} traffic against the JDBC + virtual threads backend,
+ * so {@code ./gradlew loadTest} reports both backends side by side.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"developers.backend=jdbc", "developers.rate-limit.enabled=false", "developers.load-shedding.enabled=false"})
+class JdbcDeveloperLoadTest extends DeveloperLoadTest {
+}
@@ -0,0 +1,148 @@
+package com.fallt.qafordevs_reactive.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReactiveMetricsPostProcessorTest {
+
+    private static final String METRIC_NAME = "sample.service";
+
+    private static final Duration DELAY = Duration.ofMillis(50);
+
+    // Timers read the registry clock, so the tests advance it by hand instead of sleeping
+    private MockClock clock;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SampleService proxy;
+
+    interface SampleService {
+
+        Mono<String> findOne();
+
+        Flux<Integer> findMany();
+
+        Mono<String> fail();
+    }
+
+    // Each element takes DELAY of clock time to produce
+    record SampleServiceImpl(MockClock clock) implements SampleService {
+
+        @Override
+        public Mono<String> findOne() {
+            return Mono.just("one").doOnNext(value -> clock.add(DELAY));
+        }
+
+        @Override
+        public Flux<Integer> findMany() {
+            return Flux.range(0, 3).doOnNext(value -> clock.add(DELAY));
+        }
+
+        @Override
+        public Mono<String> fail() {
+            return Mono.error(new IllegalStateException("boom"));
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        clock = new MockClock();
+        meterRegistry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry));
+        ReactiveMetricsPostProcessor postProcessor = new ReactiveMetricsPostProcessor(
+                Map.of(SampleService.class, METRIC_NAME), beanFactory.getBeanProvider(MeterRegistry.class));
+        proxy = (SampleService) postProcessor.postProcessAfterInitialization(new SampleServiceImpl(clock), "sampleService");
+    }
+
+    private Timer flowDuration(String method, String status) {
+        return meterRegistry.find(METRIC_NAME + ".flow.duration")
+                .tag("method", method)
+                .tag("status", status)
+                .timer();
+    }
+
+    @Test
+    @DisplayName("Test Mono method is timed from subscription to completion")
+    void givenMonoMethod_whenSubscribedLater_thenTimerMeasuresSubscriptionOnly() {
+        //given
+        Mono<String> result = proxy.findOne();
+        //when
+        clock.add(DELAY.multipliedBy(4));
+        assertThat(flowDuration("findOne", "completed")).isNull();
+        StepVerifier.create(result)
+                .expectNext("one")
+                .verifyComplete();
+        //then
+        Timer timer = flowDuration("findOne", "completed");
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(DELAY.toMillis());
+    }
+
+    @Test
+    @DisplayName("Test Flux method is timed from subscription to completion")
+    void givenFluxMethod_whenSubscribedLater_thenTimerMeasuresWholeStream() {
+        //given
+        Flux<Integer> result = proxy.findMany();
+        //when
+        clock.add(DELAY.multipliedBy(6));
+        assertThat(flowDuration("findMany", "completed")).isNull();
+        StepVerifier.create(result)
+                .expectNext(0, 1, 2)
+                .verifyComplete();
+        //then
+        Timer timer = flowDuration("findMany", "completed");
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(DELAY.toMillis() * 3);
+    }
+
+    @Test
+    @DisplayName("Test failing method is timed with error status and counted by error")
+    void givenFailingMethod_whenSubscribed_thenErrorIsRecorded() {
+        //given
+        Mono<String> result = proxy.fail();
+        //when
+        assertThatThrownBy(() -> result.block(Duration.ofSeconds(5))).hasMessage("boom");
+        //then
+        assertThat(flowDuration("fail", "error")).isNotNull();
+        Counter errors = meterRegistry.find(METRIC_NAME + ".errors")
+                .tag("method", "fail")
+                .tag("error", "IllegalStateException")
+                .counter();
+        assertThat(errors).isNotNull();
+        assertThat(errors.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Test beans of other types are not proxied")
+    void givenUnrelatedBean_whenPostProcess_thenBeanIsReturnedAsIs() {
+        //given
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry));
+        ReactiveMetricsPostProcessor postProcessor = new ReactiveMetricsPostProcessor(
+                Map.of(SampleService.class, METRIC_NAME), beanFactory.getBeanProvider(MeterRegistry.class));
+        Object bean = new Object();
+        //when
+        Object result = postProcessor.postProcessAfterInitialization(bean, "other");
+        //then
+        assertThat(result).isSameAs(bean);
+    }
+}
@@ -0,0 +1,111 @@
+package com.fallt.qafordevs_reactive.service;
+
+import com.fallt.qafordevs_reactive.config.DeveloperProperties;
+import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
+import com.fallt.qafordevs_reactive.repository.DeveloperRepository;
+import com.fallt.qafordevs_reactive.util.DataUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+
+class DeveloperBatchLoaderTest {
+
+    private DeveloperRepository developerRepository;
+
+    private DeveloperBatchLoader batchLoader;
+
+    @BeforeEach
+    public void setUp() {
+        developerRepository = Mockito.mock(DeveloperRepository.class);
+        DeveloperProperties properties = new DeveloperProperties();
+        properties.getLoader().setWindow(Duration.ofMillis(50));
+        batchLoader = new DeveloperBatchLoader(developerRepository, properties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        batchLoader.stop();
+    }
+
+    @Test
+    @DisplayName("Test concurrent loads are served by a single batched query")
+    void givenConcurrentLoads_whenLoad_thenSingleQueryIsExecuted() {
+        //given
+        DeveloperEntity john = DataUtils.getJohnDoePersisted();
+        DeveloperEntity mike = DataUtils.getMikeSmithPersisted();
+        BDDMockito.given(developerRepository.findAllByIdIn(any(Integer[].class)))
+                .willReturn(Flux.just(john, mike));
+        //when
+        List<Optional<DeveloperEntity>> results = Flux.merge(
+                        batchLoader.load(john.getId()).map(Optional::of).defaultIfEmpty(Optional.empty()),
+                        batchLoader.load(mike.getId()).map(Optional::of).defaultIfEmpty(Optional.empty()),
+                        batchLoader.load(999).map(Optional::of).defaultIfEmpty(Optional.empty()))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+        //then
+        assertThat(results).hasSize(3);
+        assertThat(results).filteredOn(Optional::isEmpty).hasSize(1);
+        assertThat(results).filteredOn(Optional::isPresent).extracting(Optional::get)
+                .containsExactlyInAnyOrder(john, mike);
+        BDDMockito.then(developerRepository).should(Mockito.times(1)).findAllByIdIn(any(Integer[].class));
+    }
+
+    @Test
+    @DisplayName("Test failed batch query fails every pending load")
+    void givenQueryFailure_whenLoad_thenErrorIsPropagated() {
+        //given
+        BDDMockito.given(developerRepository.findAllByIdIn(any(Integer[].class)))
+                .willReturn(Flux.error(new IllegalStateException("boom")));
+        //when
+        Mono<DeveloperEntity> result = batchLoader.load(1);
+        //then
+        assertThatThrownBy(() -> result.block(Duration.ofSeconds(5)))
+                .hasMessageContaining("boom");
+    }
+
+    @Test
+    @DisplayName("Test loads emitted from many threads at once all complete")
+    void givenLoadsFromParallelThreads_whenLoad_thenEveryCallerGetsItsRow() {
+        //given
+        BDDMockito.given(developerRepository.findAllByIdIn(any(Integer[].class)))
+                .willAnswer(invocation -> Flux.fromArray(invocation.<Integer[]>getArgument(0))
+                        .map(id -> DeveloperEntity.builder().id(id).build()));
+        //when
+        List<Integer> loaded = Flux.range(0, 1_000)
+                .parallel(8)
+                .runOn(Schedulers.parallel())
+                .flatMap(id -> batchLoader.load(id).map(DeveloperEntity::getId))
+                .sequential()
+                .collectList()
+                .block(Duration.ofSeconds(10));
+        //then
+        assertThat(loaded).hasSize(1_000).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Test load after the loader is stopped fails instead of hanging")
+    void givenStoppedLoader_whenLoad_thenErrorIsReturned() {
+        //given
+        batchLoader.stop();
+        //when
+        Mono<DeveloperEntity> result = batchLoader.load(1);
+        //then
+        assertThatThrownBy(() -> result.block(Duration.ofSeconds(5)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("stopped");
+    }
+}
@@ -0,0 +1,171 @@
+package com.fallt.qafordevs_reactive.service;
+
+import com.fallt.qafordevs_reactive.config.DeveloperProperties;
+import com.fallt.qafordevs_reactive.dto.DeveloperChangeEventDto;
+import com.fallt.qafordevs_reactive.entity.ChangeType;
+import com.fallt.qafordevs_reactive.entity.DeveloperChangeEntity;
+import com.fallt.qafordevs_reactive.repository.DeveloperChangeRepository;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+
+class DeveloperChangePublisherTest {
+
+    private DeveloperChangeRepository developerChangeRepository;
+
+    private DeveloperChangePublisher publisherUnderTest;
+
+    @BeforeEach
+    public void setUp() {
+        developerChangeRepository = Mockito.mock(DeveloperChangeRepository.class);
+        DeveloperProperties developerProperties = new DeveloperProperties();
+        developerProperties.getChanges().setLiveHistorySize(4);
+        developerProperties.getChanges().setReplayPageSize(2);
+        developerProperties.getChanges().setGapTimeout(Duration.ofHours(1));
+        publisherUnderTest = new DeveloperChangePublisher(developerChangeRepository, JsonMapper.builder().findAndAddModules().build(),
+                developerProperties);
+    }
+
+    private static DeveloperChangeEntity change(long sequence) {
+        return DeveloperChangeEntity.builder()
+                .sequence(sequence)
+                .developerId((int) sequence)
+                .eventType(ChangeType.HARD_DELETED)
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private static Flux<DeveloperChangeEntity> changes(long... sequences) {
+        return Flux.fromStream(LongStream.of(sequences).mapToObj(DeveloperChangePublisherTest::change));
+    }
+
+    // Serves findBetween from a table holding sequences 1..last, honouring the bounds and the page size
+    private void givenTableUpTo(long last) {
+        BDDMockito.given(developerChangeRepository.findBounds())
+                .willReturn(Mono.just(new DeveloperChangeRepository.Bounds(1L, last)));
+        BDDMockito.given(developerChangeRepository.findBetween(anyLong(), anyLong(), anyInt()))
+                .willAnswer(invocation -> {
+                    long after = invocation.getArgument(0);
+                    long until = Math.min(invocation.<Long>getArgument(1), last);
+                    int limit = invocation.getArgument(2);
+                    return changes(LongStream.rangeClosed(after + 1, Math.min(after + limit, until)).toArray());
+                });
+        BDDMockito.given(developerChangeRepository.findAfter(anyLong(), anyInt()))
+                .willReturn(changes(LongStream.rangeClosed(1, last).toArray()));
+        StepVerifier.create(publisherUnderTest.poll())
+                .expectNext((int) last)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test poll emits polled changes to live subscribers in sequence order")
+    void givenNewChanges_whenPoll_thenLiveSubscribersReceiveThem() {
+        //given
+        BDDMockito.given(developerChangeRepository.findAfter(0L, 2)).willReturn(changes(1, 2));
+        //when
+        //then
+        StepVerifier.create(publisherUnderTest.subscribe(null).map(DeveloperChangeEventDto::getSequence))
+                .then(() -> publisherUnderTest.poll().block())
+                .expectNext(1L, 2L)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Test poll holds back changes after a sequence gap until the gap is filled")
+    void givenSequenceGap_whenPoll_thenChangesAfterGapAreHeldBack() {
+        //given
+        BDDMockito.given(developerChangeRepository.findAfter(0L, 2)).willReturn(changes(1, 3));
+        BDDMockito.given(developerChangeRepository.findAfter(1L, 2)).willReturn(changes(2, 3));
+        //when
+        //then
+        StepVerifier.create(publisherUnderTest.subscribe(null).map(DeveloperChangeEventDto::getSequence))
+                .then(() -> assertThat(publisherUnderTest.poll().block()).isEqualTo(1))
+                .expectNext(1L)
+                .then(() -> assertThat(publisherUnderTest.poll().block()).isEqualTo(2))
+                .expectNext(2L, 3L)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Test subscribe sends a reset event when the requested position is no longer retained")
+    void givenAgedOutSince_whenSubscribe_thenResetIsSentFirst() {
+        //given
+        givenTableUpTo(10);
+        BDDMockito.given(developerChangeRepository.findBounds())
+                .willReturn(Mono.just(new DeveloperChangeRepository.Bounds(6L, 10L)));
+        //when
+        //then
+        StepVerifier.create(publisherUnderTest.subscribe(2L))
+                .assertNext(event -> {
+                    assertThat(event.getType()).isEqualTo(ChangeType.RESET);
+                    assertThat(event.getSequence()).isEqualTo(10L);
+                })
+                .thenCancel()
+                .verify();
+        Mockito.verify(developerChangeRepository, Mockito.never()).findBetween(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Test subscribe sends a reset event when the requested position is ahead of the history")
+    void givenSinceAheadOfHistory_whenSubscribe_thenResetIsSent() {
+        //given
+        givenTableUpTo(10);
+        //when
+        //then
+        StepVerifier.create(publisherUnderTest.subscribe(50L))
+                .assertNext(event -> assertThat(event.getType()).isEqualTo(ChangeType.RESET))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Test subscribe replays retained changes page by page on demand and then continues live")
+    void givenRetainedSince_whenSubscribe_thenReplayFollowsDemandAndSwitchesToLive() {
+        //given
+        givenTableUpTo(10);
+        //when
+        //then
+        StepVerifier.create(publisherUnderTest.subscribe(2L).map(DeveloperChangeEventDto::getSequence), 0)
+                .expectSubscription()
+                .thenRequest(1)
+                .expectNext(3L)
+                .then(() -> Mockito.verify(developerChangeRepository, Mockito.never()).findBetween(eq(4L), anyLong(), anyInt()))
+                .thenRequest(7)
+                .expectNext(4L, 5L, 6L, 7L, 8L, 9L, 10L)
+                .thenCancel()
+                .verify();
+        // The last events come from the live replay, not from another page
+        Mockito.verify(developerChangeRepository, Mockito.never()).findBetween(eq(8L), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Test subscribe close to the live position is served from memory")
+    void givenRecentSince_whenSubscribe_thenNoPageIsRead() {
+        //given
+        givenTableUpTo(10);
+        //when
+        //then
+        StepVerifier.create(publisherUnderTest.subscribe(9L).map(DeveloperChangeEventDto::getSequence))
+                .expectNext(10L)
+                .thenCancel()
+                .verify();
+        Mockito.verify(developerChangeRepository, Mockito.never()).findBetween(anyLong(), anyLong(), anyInt());
+    }
+}
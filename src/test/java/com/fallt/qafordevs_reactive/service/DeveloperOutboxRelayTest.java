@@ -0,0 +1,166 @@
+package com.fallt.qafordevs_reactive.service;
+
+import com.fallt.qafordevs_reactive.config.DeveloperProperties;
+import com.fallt.qafordevs_reactive.dto.DeveloperOutboxEventDto;
+import com.fallt.qafordevs_reactive.entity.ChangeType;
+import com.fallt.qafordevs_reactive.entity.DeveloperOutboxEntity;
+import com.fallt.qafordevs_reactive.repository.DeveloperOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+
+class DeveloperOutboxRelayTest {
+
+    private DeveloperOutboxRepository developerOutboxRepository;
+
+    private DeveloperProperties developerProperties;
+
+    private List<Long> published;
+
+    private DeveloperOutboxRelay relayUnderTest;
+
+    @BeforeEach
+    public void setUp() {
+        developerOutboxRepository = Mockito.mock(DeveloperOutboxRepository.class);
+        developerProperties = new DeveloperProperties();
+        developerProperties.getOutbox().setBatchSize(4);
+        published = new CopyOnWriteArrayList<>();
+        BDDMockito.given(developerOutboxRepository.deleteAllById(any()))
+                .willAnswer(invocation -> Mono.just((long) invocation.<Long[]>getArgument(0).length));
+        BDDMockito.given(developerOutboxRepository.reschedule(any(), any(), any(), anyInt()))
+                .willAnswer(invocation -> Mono.just((long) invocation.<Long[]>getArgument(0).length));
+        BDDMockito.given(developerOutboxRepository.postpone(any(), any()))
+                .willAnswer(invocation -> Mono.just((long) invocation.<Long[]>getArgument(0).length));
+        // Any batch containing event 3 is rejected without saying which event, everything else is accepted
+        relayUnderTest = relay(events -> events.stream().anyMatch(event -> event.getId() == 3L)
+                ? Mono.error(new OutboxEventsRejectedException("rejected"))
+                : accept(events));
+    }
+
+    private DeveloperOutboxRelay relay(OutboxEventPublisher publisher) {
+        return new DeveloperOutboxRelay(developerOutboxRepository, publisher, developerProperties);
+    }
+
+    private Mono<Void> accept(List<DeveloperOutboxEventDto> events) {
+        return Mono.fromRunnable(() -> events.stream().map(DeveloperOutboxEventDto::getId).forEach(published::add));
+    }
+
+    private static DeveloperOutboxEntity event(long id) {
+        return DeveloperOutboxEntity.builder()
+                .id(id)
+                .developerId((int) id)
+                .eventType(ChangeType.UPDATED)
+                .attempts(0)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Test one failing event does not hold back the rest of its batch")
+    void givenBatchWithFailingEvent_whenDrain_thenOthersArePublishedAndOnlyItIsRescheduled() {
+        //given
+        BDDMockito.given(developerOutboxRepository.claimBatch(eq(4), any()))
+                .willReturn(Flux.just(event(1), event(2), event(3), event(4)))
+                .willReturn(Flux.empty());
+        //when
+        Long relayed = relayUnderTest.drain().block();
+        //then
+        assertThat(relayed).isEqualTo(3);
+        assertThat(published).containsExactly(1L, 2L, 4L);
+        BDDMockito.then(developerOutboxRepository).should().deleteAllById(new Long[]{1L, 2L});
+        BDDMockito.then(developerOutboxRepository).should().deleteAllById(new Long[]{4L});
+        BDDMockito.then(developerOutboxRepository).should().reschedule(eq(new Long[]{3L}),
+                eq(developerProperties.getOutbox().getRetryBackoff()), eq(developerProperties.getOutbox().getMaxRetryBackoff()),
+                eq(developerProperties.getOutbox().getMaxAttempts()));
+        BDDMockito.then(developerOutboxRepository).should(Mockito.never()).deleteAllById(new Long[]{3L});
+    }
+
+    @Test
+    @DisplayName("Test drain keeps claiming while batches come back full")
+    void givenFullBatches_whenDrain_thenNextBatchIsClaimed() {
+        //given
+        BDDMockito.given(developerOutboxRepository.claimBatch(eq(4), any()))
+                .willReturn(Flux.just(event(1), event(2), event(3), event(4)))
+                .willReturn(Flux.just(event(5), event(6)));
+        //when
+        Long relayed = relayUnderTest.drain().block();
+        //then
+        assertThat(relayed).isEqualTo(5);
+        assertThat(published).containsExactly(1L, 2L, 4L, 5L, 6L);
+        BDDMockito.then(developerOutboxRepository).should(Mockito.times(2)).claimBatch(eq(4), any());
+    }
+
+    @Test
+    @DisplayName("Test events named in a rejection are rescheduled and the rest of the batch is deleted")
+    void givenRejectionNamingEvents_whenDrain_thenOnlyThoseAreRescheduled() {
+        //given
+        BDDMockito.given(developerOutboxRepository.claimBatch(eq(4), any()))
+                .willReturn(Flux.just(event(1), event(2), event(3)));
+        AtomicInteger calls = new AtomicInteger();
+        DeveloperOutboxRelay relay = relay(events -> {
+            calls.incrementAndGet();
+            return Mono.error(new OutboxEventsRejectedException("rejected", List.of(2L)));
+        });
+        //when
+        Long relayed = relay.drain().block();
+        //then
+        assertThat(relayed).isEqualTo(2);
+        assertThat(calls).hasValue(1);
+        BDDMockito.then(developerOutboxRepository).should().reschedule(eq(new Long[]{2L}), any(), any(), anyInt());
+        BDDMockito.then(developerOutboxRepository).should().deleteAllById(new Long[]{1L, 3L});
+    }
+
+    @Test
+    @DisplayName("Test an unavailable publisher postpones the whole batch without splitting or counting attempts")
+    void givenUnavailablePublisher_whenDrain_thenBatchIsPostponedAndRelayBacksOff() {
+        //given
+        BDDMockito.given(developerOutboxRepository.claimBatch(eq(4), any()))
+                .willReturn(Flux.just(event(1), event(2), event(3), event(4)));
+        AtomicInteger calls = new AtomicInteger();
+        DeveloperOutboxRelay relay = relay(events -> {
+            calls.incrementAndGet();
+            return Mono.error(new IOException("Connection refused"));
+        });
+        //when
+        Long relayed = relay.drain().block();
+        Long relayedWhileBackingOff = relay.drain().block();
+        //then
+        assertThat(relayed).isZero();
+        assertThat(relayedWhileBackingOff).isZero();
+        assertThat(calls).hasValue(1);
+        BDDMockito.then(developerOutboxRepository).should().postpone(new Long[]{1L, 2L, 3L, 4L},
+                developerProperties.getOutbox().getRetryBackoff());
+        BDDMockito.then(developerOutboxRepository).should(Mockito.times(1)).claimBatch(anyInt(), any());
+        BDDMockito.then(developerOutboxRepository).should(Mockito.never()).reschedule(any(), any(), any(), anyInt());
+        BDDMockito.then(developerOutboxRepository).should(Mockito.never()).deleteAllById(any());
+    }
+
+    @Test
+    @DisplayName("Test a publish round that outlasts half the lease is cut off and postponed")
+    void givenHangingPublisher_whenDrain_thenRoundEndsWithinTheLease() {
+        //given
+        developerProperties.getOutbox().setLease(Duration.ofMillis(200));
+        BDDMockito.given(developerOutboxRepository.claimBatch(eq(4), any()))
+                .willReturn(Flux.just(event(1), event(2)));
+        DeveloperOutboxRelay relay = relay(events -> Mono.never());
+        //when
+        Long relayed = relay.drain().block(Duration.ofSeconds(5));
+        //then
+        assertThat(relayed).isZero();
+        BDDMockito.then(developerOutboxRepository).should().postpone(eq(new Long[]{1L, 2L}), any());
+    }
+}
@@ -0,0 +1,282 @@
+package com.fallt.qafordevs_reactive.service;
+
+import com.fallt.qafordevs_reactive.config.DeveloperProperties;
+import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
+import com.fallt.qafordevs_reactive.exception.DeveloperVersionConflictException;
+import com.fallt.qafordevs_reactive.exception.DeveloperWithEmailAlreadyExistsException;
+import com.fallt.qafordevs_reactive.repository.DeveloperRepository;
+import com.fallt.qafordevs_reactive.util.DataUtils;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+
+class DeveloperServiceImplTest {
+
+    private DeveloperRepository developerRepository;
+
+    private DeveloperBatchLoader batchLoader;
+
+    private DeveloperProperties developerProperties;
+
+    private DeveloperServiceImpl serviceUnderTest;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        developerRepository = Mockito.mock(DeveloperRepository.class);
+        batchLoader = Mockito.mock(DeveloperBatchLoader.class);
+        DeveloperOutbox developerOutbox = Mockito.mock(DeveloperOutbox.class);
+        TransactionalOperator transactionalOperator = Mockito.mock(TransactionalOperator.class);
+        BDDMockito.given(developerOutbox.append(any(), any(), any())).willReturn(Mono.empty());
+        BDDMockito.given(transactionalOperator.transactional(any(Mono.class))).willAnswer(invocation -> invocation.getArgument(0));
+        BDDMockito.given(transactionalOperator.transactional(any(Flux.class))).willAnswer(invocation -> invocation.getArgument(0));
+        developerProperties = new DeveloperProperties();
+        serviceUnderTest = new DeveloperServiceImpl(developerRepository, developerProperties,
+                new DeveloperLookupCache(Caffeine.newBuilder().buildAsync()), Mockito.mock(DeveloperChangePublisher.class),
+                batchLoader, developerOutbox, transactionalOperator);
+    }
+
+    private static DeveloperEntity persisted() {
+        DeveloperEntity developer = DataUtils.getJohnDoePersisted();
+        developer.setVersion(1L);
+        return developer;
+    }
+
+    @Test
+    @DisplayName("Test get developer by id is served from the cache after the first load")
+    void givenCachedDeveloper_whenGetById_thenLoaderIsCalledOnce() {
+        //given
+        DeveloperEntity developer = persisted();
+        BDDMockito.given(batchLoader.load(developer.getId())).willReturn(Mono.just(developer));
+        //when
+        DeveloperEntity first = serviceUnderTest.getById(developer.getId()).block();
+        DeveloperEntity second = serviceUnderTest.getById(developer.getId()).block();
+        //then
+        assertThat(first).isSameAs(developer);
+        assertThat(second).isSameAs(developer);
+        BDDMockito.then(batchLoader).should(Mockito.times(1)).load(developer.getId());
+    }
+
+    @Test
+    @DisplayName("Test concurrent get developer by id share one load")
+    void givenConcurrentLookups_whenGetById_thenLoaderIsCalledOnce() {
+        //given
+        DeveloperEntity developer = persisted();
+        BDDMockito.given(batchLoader.load(developer.getId()))
+                .willReturn(Mono.just(developer).delayElement(Duration.ofMillis(100)));
+        //when
+        Flux.merge(serviceUnderTest.getById(developer.getId()), serviceUnderTest.getById(developer.getId()),
+                        serviceUnderTest.getById(developer.getId()))
+                .blockLast(Duration.ofSeconds(5));
+        //then
+        BDDMockito.then(batchLoader).should(Mockito.times(1)).load(developer.getId());
+    }
+
+    @Test
+    @DisplayName("Test update developer invalidates the cached developer")
+    void givenCachedDeveloper_whenUpdateDeveloper_thenNextGetByIdLoadsAgain() {
+        //given
+        DeveloperEntity developer = persisted();
+        BDDMockito.given(batchLoader.load(developer.getId())).willReturn(Mono.just(developer));
+        BDDMockito.given(developerRepository.update(any(DeveloperEntity.class))).willReturn(Mono.just(developer));
+        serviceUnderTest.getById(developer.getId()).block();
+        //when
+        serviceUnderTest.updateDeveloper(DataUtils.getJohnDoePersisted()).block();
+        serviceUnderTest.getById(developer.getId()).block();
+        //then
+        BDDMockito.then(batchLoader).should(Mockito.times(2)).load(developer.getId());
+    }
+
+    @Test
+    @DisplayName("Test patch developer invalidates the cached developer")
+    void givenCachedDeveloper_whenPatchDeveloper_thenNextGetByIdLoadsAgain() {
+        //given
+        DeveloperEntity developer = persisted();
+        BDDMockito.given(batchLoader.load(developer.getId())).willReturn(Mono.just(developer));
+        BDDMockito.given(developerRepository.updateColumns(eq(developer.getId()), anyLong(), anyMap()))
+                .willReturn(Mono.just(developer));
+        DeveloperEntity changes = DeveloperEntity.builder().specialty("Kotlin").build();
+        //when
+        serviceUnderTest.patchDeveloper(developer.getId(), changes).block();
+        serviceUnderTest.getById(developer.getId()).block();
+        //then
+        BDDMockito.then(batchLoader).should(Mockito.times(2)).load(developer.getId());
+    }
+
+    @Test
+    @DisplayName("Test soft delete developer invalidates the cached developer")
+    void givenCachedDeveloper_whenSoftDeleteById_thenNextGetByIdLoadsAgain() {
+        //given
+        DeveloperEntity developer = persisted();
+        BDDMockito.given(batchLoader.load(developer.getId())).willReturn(Mono.just(developer));
+        BDDMockito.given(developerRepository.softDeleteById(anyInt())).willReturn(Mono.just(1L));
+        serviceUnderTest.getById(developer.getId()).block();
+        //when
+        serviceUnderTest.softDeleteById(developer.getId()).block();
+        serviceUnderTest.getById(developer.getId()).block();
+        //then
+        BDDMockito.then(batchLoader).should(Mockito.times(2)).load(developer.getId());
+    }
+
+    @Test
+    @DisplayName("Test a load racing an update is not kept in the cache")
+    void givenLoadInFlight_whenUpdateDeveloperCompletesFirst_thenStaleRowIsNotCached() {
+        //given
+        DeveloperEntity stale = persisted();
+        DeveloperEntity fresh = persisted();
+        fresh.setVersion(2L);
+        Sinks.One<DeveloperEntity> slowLoad = Sinks.one();
+        BDDMockito.given(batchLoader.load(stale.getId()))
+                .willReturn(slowLoad.asMono())
+                .willReturn(Mono.just(fresh));
+        BDDMockito.given(developerRepository.update(any(DeveloperEntity.class))).willReturn(Mono.just(fresh));
+        Mono<DeveloperEntity> racingLookup = serviceUnderTest.getById(stale.getId()).cache();
+        racingLookup.subscribe();
+        //when
+        serviceUnderTest.updateDeveloper(fresh).block();
+        slowLoad.tryEmitValue(stale);
+        //then
+        assertThat(racingLookup.block(Duration.ofSeconds(5))).isSameAs(stale);
+        assertThat(serviceUnderTest.getById(stale.getId()).block()).isSameAs(fresh);
+    }
+
+    @Test
+    @DisplayName("Test patch developer is re-applied to the fresh row after a lost update")
+    void givenConcurrentWrite_whenPatchDeveloper_thenPatchIsRetriedOnFreshRow() {
+        //given
+        DeveloperEntity stale = persisted();
+        DeveloperEntity fresh = persisted();
+        fresh.setVersion(2L);
+        fresh.setLastName("Dough");
+        BDDMockito.given(batchLoader.load(stale.getId()))
+                .willReturn(Mono.just(stale))
+                .willReturn(Mono.just(fresh));
+        DeveloperEntity written = persisted();
+        written.setVersion(3L);
+        written.setLastName("Dough");
+        written.setSpecialty("Kotlin");
+        BDDMockito.given(developerRepository.updateColumns(eq(stale.getId()), eq(1L), anyMap()))
+                .willReturn(Mono.empty());
+        BDDMockito.given(developerRepository.updateColumns(eq(stale.getId()), eq(2L), eq(Map.of("specialty", "Kotlin"))))
+                .willReturn(Mono.just(written));
+        DeveloperEntity changes = DeveloperEntity.builder().specialty("Kotlin").build();
+        //when
+        StepVerifier.create(serviceUnderTest.patchDeveloper(stale.getId(), changes))
+                //then
+                .expectNext(written)
+                .verifyComplete();
+        BDDMockito.then(developerRepository).should(Mockito.times(2)).updateColumns(eq(stale.getId()), anyLong(), anyMap());
+    }
+
+    @Test
+    @DisplayName("Test patch developer gives up after the configured number of retries")
+    void givenContinuousConflicts_whenPatchDeveloper_thenVersionConflictAfterMaxRetries() {
+        //given
+        DeveloperEntity developer = persisted();
+        developerProperties.getPatch().setMaxRetries(2);
+        BDDMockito.given(batchLoader.load(developer.getId())).willAnswer(invocation -> Mono.just(persisted()));
+        BDDMockito.given(developerRepository.updateColumns(eq(developer.getId()), anyLong(), anyMap()))
+                .willReturn(Mono.empty());
+        DeveloperEntity changes = DeveloperEntity.builder().specialty("Kotlin").build();
+        //when
+        StepVerifier.create(serviceUnderTest.patchDeveloper(developer.getId(), changes))
+                //then
+                .expectError(DeveloperVersionConflictException.class)
+                .verify();
+        BDDMockito.then(developerRepository).should(Mockito.times(3)).updateColumns(eq(developer.getId()), anyLong(), anyMap());
+    }
+
+    @Test
+    @DisplayName("Test patch developer with a stale precondition is not retried")
+    void givenStaleExpectedVersion_whenPatchDeveloper_thenVersionConflictWithoutUpdate() {
+        //given
+        DeveloperEntity developer = persisted();
+        developer.setVersion(2L);
+        BDDMockito.given(developerRepository.findById(developer.getId())).willReturn(Mono.just(developer));
+        DeveloperEntity changes = DeveloperEntity.builder().specialty("Kotlin").version(1L).build();
+        //when
+        StepVerifier.create(serviceUnderTest.patchDeveloper(developer.getId(), changes))
+                //then
+                .expectError(DeveloperVersionConflictException.class)
+                .verify();
+        BDDMockito.then(developerRepository).should(Mockito.times(1)).findById(developer.getId());
+        BDDMockito.then(developerRepository).should(Mockito.never()).updateColumns(anyInt(), anyLong(), anyMap());
+    }
+
+    @Test
+    @DisplayName("Test patch developer to a taken email is reported as a duplicate email")
+    void givenTakenEmail_whenPatchDeveloper_thenDuplicateEmailException() {
+        //given
+        DeveloperEntity developer = persisted();
+        BDDMockito.given(batchLoader.load(developer.getId())).willReturn(Mono.just(developer));
+        BDDMockito.given(developerRepository.updateColumns(eq(developer.getId()), anyLong(), anyMap()))
+                .willReturn(Mono.error(emailIndexViolation()));
+        DeveloperEntity changes = DeveloperEntity.builder().email("mike.smith@gmail.com").build();
+        //when
+        StepVerifier.create(serviceUnderTest.patchDeveloper(developer.getId(), changes))
+                //then
+                .expectError(DeveloperWithEmailAlreadyExistsException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Test update developer to a taken email is reported as a duplicate email")
+    void givenTakenEmail_whenUpdateDeveloper_thenDuplicateEmailException() {
+        //given
+        BDDMockito.given(developerRepository.update(any(DeveloperEntity.class))).willReturn(Mono.error(emailIndexViolation()));
+        //when
+        StepVerifier.create(serviceUnderTest.updateDeveloper(persisted()))
+                //then
+                .expectError(DeveloperWithEmailAlreadyExistsException.class)
+                .verify();
+    }
+
+    private static DuplicateKeyException emailIndexViolation() {
+        return new DuplicateKeyException("executeMany; SQL [UPDATE developers ...]",
+                new RuntimeException("duplicate key value violates unique constraint \"developers_email_lower_uindex\""));
+    }
+
+    @Test
+    @DisplayName("Test patch developer returns the row written by the database")
+    void givenChanges_whenPatchDeveloper_thenReturnedRowIsTheResponse() {
+        //given
+        DeveloperEntity developer = persisted();
+        developer.setUpdatedAt(Instant.parse("2024-01-01T00:00:00Z"));
+        DeveloperEntity written = persisted();
+        written.setSpecialty("Kotlin");
+        written.setVersion(2L);
+        written.setUpdatedAt(Instant.parse("2024-01-02T00:00:00Z"));
+        BDDMockito.given(batchLoader.load(developer.getId())).willReturn(Mono.just(developer));
+        BDDMockito.given(developerRepository.updateColumns(eq(developer.getId()), eq(1L), eq(Map.of("specialty", "Kotlin"))))
+                .willReturn(Mono.just(written));
+        DeveloperEntity changes = DeveloperEntity.builder().specialty("Kotlin").build();
+        //when
+        StepVerifier.create(serviceUnderTest.patchDeveloper(developer.getId(), changes))
+                //then
+                .assertNext(patched -> {
+                    assertThat(patched).isSameAs(written);
+                    assertThat(patched.getUpdatedAt()).isEqualTo(written.getUpdatedAt());
+                })
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,138 @@
+package com.fallt.qafordevs_reactive.service;
+
+import com.fallt.qafordevs_reactive.entity.DeveloperEntity;
+import com.fallt.qafordevs_reactive.entity.Status;
+import com.fallt.qafordevs_reactive.exception.DeveloperNotFoundException;
+import com.fallt.qafordevs_reactive.exception.DeveloperVersionConflictException;
+import com.fallt.qafordevs_reactive.util.DataUtils;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeveloperServiceSupportTest {
+
+    @Test
+    @DisplayName("Test merge keeps current values for absent changes")
+    void givenPartialChanges_whenMerge_thenOnlyPresentValuesAreReplaced() {
+        //given
+        DeveloperEntity current = DataUtils.getJohnDoePersisted();
+        current.setVersion(4L);
+        DeveloperEntity changes = DeveloperEntity.builder()
+                .specialty("Kotlin")
+                .status(Status.DELETED)
+                .version(1L)
+                .build();
+        //when
+        DeveloperEntity merged = DeveloperServiceSupport.merge(current, changes);
+        //then
+        assertThat(merged.getId()).isEqualTo(current.getId());
+        assertThat(merged.getFirstName()).isEqualTo("John");
+        assertThat(merged.getLastName()).isEqualTo("Doe");
+        assertThat(merged.getEmail()).isEqualTo("john.doe@gmail.com");
+        assertThat(merged.getSpecialty()).isEqualTo("Kotlin");
+        assertThat(merged.getStatus()).isEqualTo(Status.DELETED);
+        assertThat(merged.getVersion()).isEqualTo(4L);
+        assertThat(merged).isNotSameAs(current);
+    }
+
+    @Test
+    @DisplayName("Test changed columns lists only modified properties in declaration order")
+    void givenMergedDeveloper_whenChangedColumns_thenOnlyModifiedPropertiesAreReturned() {
+        //given
+        DeveloperEntity current = DataUtils.getJohnDoePersisted();
+        DeveloperEntity patched = DeveloperServiceSupport.merge(current, DeveloperEntity.builder()
+                .lastName("Doe")
+                .email("john@doe.com")
+                .status(Status.DELETED)
+                .build());
+        //when
+        Map<String, Object> columns = DeveloperServiceSupport.changedColumns(current, patched);
+        //then
+        assertThat(columns).containsExactly(
+                Map.entry("email", "john@doe.com"),
+                Map.entry("status", "DELETED"));
+    }
+
+    @Test
+    @DisplayName("Test changed columns is empty for a no-op patch")
+    void givenUnchangedDeveloper_whenChangedColumns_thenEmpty() {
+        //given
+        DeveloperEntity current = DataUtils.getJohnDoePersisted();
+        DeveloperEntity patched = DeveloperServiceSupport.merge(current, DataUtils.getJohnDoeTransient());
+        //when
+        Map<String, Object> columns = DeveloperServiceSupport.changedColumns(current, patched);
+        //then
+        assertThat(columns).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Test duplicate email is detected only on the email index")
+    void givenIntegrityViolations_whenIsDuplicateEmail_thenOnlyEmailIndexMatches() {
+        //given
+        Exception emailViolation = new DuplicateKeyException("update failed",
+                new RuntimeException("duplicate key value violates unique constraint \"developers_email_lower_uindex\""));
+        Exception otherViolation = new DataIntegrityViolationException("null value in column \"email\" violates not-null constraint");
+        //when
+        //then
+        assertThat(DeveloperServiceSupport.isDuplicateEmail(emailViolation)).isTrue();
+        assertThat(DeveloperServiceSupport.isDuplicateEmail(otherViolation)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Test patch without changes returns the current developer without writing")
+    void givenNoOpChanges_whenPatch_thenNothingIsWritten() {
+        //given
+        DeveloperEntity current = DataUtils.getJohnDoePersisted();
+        current.setVersion(1L);
+        AtomicInteger writes = new AtomicInteger();
+        //when
+        Mono<DeveloperEntity> patched = DeveloperServiceSupport.patch(current.getId(), DataUtils.getJohnDoeTransient(),
+                id -> Mono.just(current), id -> Mono.just(current),
+                (id, version, columns) -> {
+                    writes.incrementAndGet();
+                    return Mono.empty();
+                },
+                3, new DeveloperLookupCache(Caffeine.newBuilder().buildAsync()));
+        //then
+        StepVerifier.create(patched)
+                .expectNext(current)
+                .verifyComplete();
+        assertThat(writes).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Test update that wrote nothing reports a conflict for an existing developer")
+    void givenNoRowWrittenForExistingDeveloper_whenUpdate_thenVersionConflict() {
+        //given
+        DeveloperEntity developer = DataUtils.getJohnDoePersisted();
+        developer.setVersion(1L);
+        //when
+        Mono<DeveloperEntity> updated = DeveloperServiceSupport.update(developer, Mono.empty(), id -> Mono.just(true),
+                new DeveloperLookupCache(Caffeine.newBuilder().buildAsync()));
+        //then
+        StepVerifier.create(updated)
+                .expectError(DeveloperVersionConflictException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Test delete that affected no rows reports the developer as not found")
+    void givenNoAffectedRows_whenDelete_thenNotFound() {
+        //given
+        //when
+        Mono<Void> deleted = DeveloperServiceSupport.delete(1, Mono.just(0), new DeveloperLookupCache(Caffeine.newBuilder().buildAsync()));
+        //then
+        StepVerifier.create(deleted)
+                .expectError(DeveloperNotFoundException.class)
+                .verify();
+    }
+}
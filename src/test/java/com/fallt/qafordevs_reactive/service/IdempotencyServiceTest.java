@@ -0,0 +1,150 @@
+package com.fallt.qafordevs_reactive.service;
+
+import com.fallt.qafordevs_reactive.config.DeveloperProperties;
+import com.fallt.qafordevs_reactive.dto.DeveloperDto;
+import com.fallt.qafordevs_reactive.entity.IdempotencyKeyEntity;
+import com.fallt.qafordevs_reactive.exception.IdempotentRequestInProgressException;
+import com.fallt.qafordevs_reactive.repository.IdempotencyKeyRepository;
+import com.fallt.qafordevs_reactive.util.DataUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+class IdempotencyServiceTest {
+
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private IdempotencyService serviceUnderTest;
+
+    @BeforeEach
+    public void setUp() {
+        idempotencyKeyRepository = Mockito.mock(IdempotencyKeyRepository.class);
+        BDDMockito.given(idempotencyKeyRepository.complete(anyString(), anyString(), anyString())).willReturn(Mono.empty());
+        BDDMockito.given(idempotencyKeyRepository.release(anyString(), anyString())).willReturn(Mono.empty());
+        serviceUnderTest = new IdempotencyService(idempotencyKeyRepository, new ObjectMapper().registerModule(new JavaTimeModule()),
+                new DeveloperProperties());
+    }
+
+    @Test
+    @DisplayName("Test concurrent duplicates on one instance share a single execution")
+    void givenConcurrentDuplicates_whenExecute_thenActionRunsOnce() {
+        //given
+        DeveloperDto request = DataUtils.getJohnDoeDtoTransient();
+        Sinks.One<DeveloperDto> response = Sinks.one();
+        AtomicInteger executions = new AtomicInteger();
+        BDDMockito.given(idempotencyKeyRepository.tryClaim(eq("key"), eq("createDeveloper"), anyString(), any(), any()))
+                .willReturn(Mono.just(true));
+        //when
+        Mono<List<DeveloperDto>> results = Flux.merge(
+                        execute("key", request, () -> {
+                            executions.incrementAndGet();
+                            return response.asMono();
+                        }),
+                        execute("key", request, () -> {
+                            executions.incrementAndGet();
+                            return response.asMono();
+                        }))
+                .collectList();
+        //then
+        StepVerifier.create(results)
+                .then(() -> response.tryEmitValue(DataUtils.getJohnDoeDtoPersisted()))
+                .assertNext(bodies -> assertThat(bodies).extracting(DeveloperDto::getId).containsExactly(1, 1))
+                .verifyComplete();
+        assertThat(executions).hasValue(1);
+        BDDMockito.then(idempotencyKeyRepository).should(Mockito.times(1))
+                .tryClaim(eq("key"), eq("createDeveloper"), anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Test duplicate of a request still running on another instance is rejected as in progress")
+    void givenKeyClaimedElsewhere_whenExecute_thenInProgressException() {
+        //given
+        AtomicReference<String> requestHash = new AtomicReference<>();
+        BDDMockito.given(idempotencyKeyRepository.tryClaim(eq("key"), eq("createDeveloper"), anyString(), any(), any()))
+                .willAnswer(invocation -> {
+                    requestHash.set(invocation.getArgument(2));
+                    return Mono.just(false);
+                });
+        BDDMockito.given(idempotencyKeyRepository.find("key", "createDeveloper"))
+                .willAnswer(invocation -> Mono.just(IdempotencyKeyEntity.builder()
+                        .idempotencyKey("key")
+                        .operation("createDeveloper")
+                        .requestHash(requestHash.get())
+                        .build()));
+        AtomicInteger executions = new AtomicInteger();
+        //when
+        Mono<DeveloperDto> result = execute("key", DataUtils.getJohnDoeDtoTransient(), () -> {
+            executions.incrementAndGet();
+            return Mono.just(DataUtils.getJohnDoeDtoPersisted());
+        });
+        //then
+        StepVerifier.create(result)
+                .expectError(IdempotentRequestInProgressException.class)
+                .verify(Duration.ofSeconds(5));
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Test failed action releases the key for a retry")
+    void givenFailingAction_whenExecute_thenKeyIsReleased() {
+        //given
+        BDDMockito.given(idempotencyKeyRepository.tryClaim(eq("key"), eq("createDeveloper"), anyString(), any(), any()))
+                .willReturn(Mono.just(true));
+        //when
+        Mono<DeveloperDto> result = execute("key", DataUtils.getJohnDoeDtoTransient(),
+                () -> Mono.error(new IllegalStateException("boom")));
+        //then
+        StepVerifier.create(result)
+                .expectErrorMessage("boom")
+                .verify(Duration.ofSeconds(5));
+        BDDMockito.then(idempotencyKeyRepository).should().release("key", "createDeveloper");
+    }
+
+    @Test
+    @DisplayName("Test failure to store the response keeps the key claimed")
+    void givenCompleteFailure_whenExecute_thenResponseIsReturnedAndKeyIsKept() {
+        //given
+        BDDMockito.given(idempotencyKeyRepository.tryClaim(eq("key"), eq("createDeveloper"), anyString(), any(), any()))
+                .willReturn(Mono.just(true));
+        BDDMockito.given(idempotencyKeyRepository.complete(eq("key"), eq("createDeveloper"), anyString()))
+                .willReturn(Mono.error(new IllegalStateException("connection lost")));
+        AtomicInteger executions = new AtomicInteger();
+        //when
+        DeveloperDto first = execute("key", DataUtils.getJohnDoeDtoTransient(), () -> {
+            executions.incrementAndGet();
+            return Mono.just(DataUtils.getJohnDoeDtoPersisted());
+        }).block(Duration.ofSeconds(5));
+        DeveloperDto repeated = execute("key", DataUtils.getJohnDoeDtoTransient(), () -> {
+            executions.incrementAndGet();
+            return Mono.just(DataUtils.getJohnDoeDtoPersisted());
+        }).block(Duration.ofSeconds(5));
+        //then
+        assertThat(first.getId()).isEqualTo(1);
+        assertThat(repeated.getId()).isEqualTo(1);
+        assertThat(executions).hasValue(1);
+        BDDMockito.then(idempotencyKeyRepository).should(Mockito.never()).release(anyString(), anyString());
+    }
+
+    private Mono<DeveloperDto> execute(String key, DeveloperDto request, Supplier<Mono<DeveloperDto>> action) {
+        return serviceUnderTest.execute(key, "createDeveloper", request, DeveloperDto.class, action);
+    }
+}
@@ -132,4 +132,24 @@ public class DataUtils {
                 .status(Status.DELETED)
                 .build();
     }
+
+    public static DeveloperEntity getDeveloperTransient(int index) {
+        return DeveloperEntity.builder()
+                .firstName("Developer" + index)
+                .lastName("Load" + index)
+                .email("developer" + index + "@gmail.com")
+                .specialty(index % 2 == 0 ? "Java" : "Go")
+                .status(Status.ACTIVE)
+                .build();
+    }
+
+    public static DeveloperDto getDeveloperDtoTransient(String email) {
+        return DeveloperDto.builder()
+                .firstName("Developer")
+                .lastName("Load")
+                .email(email)
+                .specialty("Java")
+                .status(Status.ACTIVE)
+                .build();
+    }
 }